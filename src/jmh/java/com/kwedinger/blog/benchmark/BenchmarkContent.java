@@ -0,0 +1,36 @@
+package com.kwedinger.blog.benchmark;
+
+import com.kwedinger.blog.service.ContentStore;
+import com.kwedinger.blog.service.FileService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared fixtures for the JMH benchmarks: the real blog posts and a FileService over them.
+ * The jmh Gradle task points {@code blog.benchmark.content-dir} at src/main/resources/static.
+ */
+final class BenchmarkContent {
+    static final String CONTENT_DIR = System.getProperty("blog.benchmark.content-dir", "src/main/resources/static");
+    
+    private BenchmarkContent() {
+    }
+    
+    static ContentStore contentStore() {
+        return new ContentStore(CONTENT_DIR);
+    }
+    
+    static FileService fileService(ContentStore contentStore) {
+        return new FileService(event -> { }, contentStore, false, false);
+    }
+    
+    static String blogPost(String filename) {
+        try {
+            return Files.readString(Path.of(CONTENT_DIR, "blog_posts", filename));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
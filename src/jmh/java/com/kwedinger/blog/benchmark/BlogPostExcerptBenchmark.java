@@ -0,0 +1,51 @@
+package com.kwedinger.blog.benchmark;
+
+import com.kwedinger.blog.service.BlogPostFileReader;
+import com.kwedinger.blog.service.ContentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BlogPostFileReader.excerpt on the real posts: catalog lookup, decoding the mapped file and extraction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogPostExcerptBenchmark {
+    @Param({
+        "2016-8-9-HowDoIChooseAPresentationTopic.md",
+        "boost_your_team_bus_factor_creating_docs_that_work.md",
+        "rebuilding_my_blog_with_cursor.md"
+    })
+    public String filename;
+    
+    @Param({"50"})
+    public int words;
+    
+    private BlogPostFileReader reader;
+    
+    @Setup
+    public void setUp() {
+        ContentStore contentStore = BenchmarkContent.contentStore();
+        reader = new BlogPostFileReader(BenchmarkContent.fileService(contentStore), 200);
+    }
+    
+    @Benchmark
+    public String excerpt() {
+        return reader.excerpt(filename, words);
+    }
+}
@@ -0,0 +1,42 @@
+package com.kwedinger.blog.benchmark;
+
+import com.kwedinger.blog.converter.LocalDateTimeConverter;
+import com.kwedinger.blog.converter.TimestampStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalDateTimeConverter.convertToEntityAttribute for each stored timestamp format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalDateTimeConverterBenchmark {
+    @Param({
+        "2024-05-01T14:30:15.123456",
+        "2024-05-01 14:30:15.123456",
+        "1714573815123"
+    })
+    public String stored;
+    
+    private final LocalDateTimeConverter converter = new LocalDateTimeConverter(new TimestampStorage(false));
+    
+    @Benchmark
+    public LocalDateTime convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(stored);
+    }
+}
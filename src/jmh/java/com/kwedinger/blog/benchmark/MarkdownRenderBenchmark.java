@@ -0,0 +1,68 @@
+package com.kwedinger.blog.benchmark;
+
+import com.kwedinger.blog.service.MarkdownService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MarkdownService.renderMarkdown on synthetic small/medium/large documents and on the real posts,
+ * both with the render cache disabled (full commonmark parse and render) and warm (hash plus lookup).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownRenderBenchmark {
+    private static final String PARAGRAPH = "Some **bold** text, some *italic* text, `inline code` and a "
+        + "[link](https://example.com) in a sentence that goes on for a while.\n\n";
+    
+    @Param({
+        "small",
+        "medium",
+        "large",
+        "2016-8-9-HowDoIChooseAPresentationTopic.md",
+        "boost_your_team_bus_factor_creating_docs_that_work.md",
+        "rebuilding_my_blog_with_cursor.md"
+    })
+    public String document;
+    
+    private String markdown;
+    private MarkdownService uncached;
+    private MarkdownService cached;
+    
+    @Setup
+    public void setUp() {
+        markdown = switch (document) {
+            case "small" -> "# Title\n\n" + PARAGRAPH;
+            case "medium" -> "# Title\n\n" + "## Section\n\n" + PARAGRAPH.repeat(20) + "```java\nint x = 1;\n```\n";
+            case "large" -> ("## Section\n\n" + PARAGRAPH.repeat(20) + "- item\n- item\n\n").repeat(25);
+            default -> BenchmarkContent.blogPost(document);
+        };
+        uncached = new MarkdownService(0);
+        cached = new MarkdownService(256);
+        cached.renderMarkdown(markdown);
+    }
+    
+    @Benchmark
+    public String renderUncached() {
+        return uncached.renderMarkdown(markdown);
+    }
+    
+    @Benchmark
+    public String renderCached() {
+        return cached.renderMarkdown(markdown);
+    }
+}
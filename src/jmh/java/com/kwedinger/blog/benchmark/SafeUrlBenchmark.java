@@ -0,0 +1,37 @@
+package com.kwedinger.blog.benchmark;
+
+import com.kwedinger.blog.config.ViewHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ViewHelper.safeUrl, called several times per presentation when rendering /presentations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SafeUrlBenchmark {
+    @Param({"https://github.com/jkwuc89/my-blog-java", "javascript:alert(1)", " "})
+    public String url;
+    
+    // safeUrl uses none of the collaborators
+    private final ViewHelper viewHelper = new ViewHelper(null, null, null, null);
+    
+    @Benchmark
+    public String safeUrl() {
+        return viewHelper.safeUrl(url);
+    }
+}
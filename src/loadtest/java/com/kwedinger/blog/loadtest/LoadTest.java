@@ -0,0 +1,257 @@
+package com.kwedinger.blog.loadtest;
+
+import com.kwedinger.blog.MyBlogJavaApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for the public routes. Starts the app on a random localhost port against
+ * a seeded SQLite file, sends requests at fixed per-route arrival rates whether or not earlier responses
+ * have come back, and reports throughput and latency percentiles from HdrHistogram.
+ * <p>
+ * Latency is measured from each request's scheduled send time, so a stalled server shows up as queueing
+ * delay instead of silently lowering the request rate (coordinated omission).
+ * <p>
+ * Usage: ./gradlew loadTest [-Proutes=/=50,/blog/*=100,/presentations=20,/about=20,/up=10]
+ * [-Pseconds=30] [-Pwarmup=5] [-Pposts=1000] [-Pdb=path/to/seeded.sqlite3] [-Preport=build/reports/loadtest]
+ * <p>
+ * Other {@code --key=value} arguments are passed to the application, e.g. {@code --blog.page-cache.enabled=false}.
+ */
+public class LoadTest {
+    private static final String DEFAULT_ROUTES = "/=50,/blog/*=100,/presentations=20,/about=20,/up=10";
+    private static final List<String> BLOG_POSTS = List.of(
+        "2016-8-9-HowDoIChooseAPresentationTopic.md",
+        "boost_your_team_bus_factor_creating_docs_that_work.md",
+        "rebuilding_my_blog_with_cursor.md");
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String key = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (key != null && List.of("routes", "seconds", "warmup", "posts", "db", "report").contains(key)) {
+                options.put(key, arg.substring(equals + 1));
+            } else {
+                appArgs.add(arg);
+            }
+        }
+        Map<String, Integer> routes = parseRoutes(options.getOrDefault("routes", DEFAULT_ROUTES));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int posts = Integer.parseInt(options.getOrDefault("posts", "1000"));
+        Path report = Path.of(options.getOrDefault("report", "build/reports/loadtest"));
+        
+        String db = options.get("db");
+        boolean seed = db == null || db.isBlank();
+        Path database = seed ? Files.createTempDirectory("loadtest").resolve("loadtest.sqlite3") : Path.of(db);
+        String url = "jdbc:sqlite:" + database.toAbsolutePath();
+        // Seed before startup so the search and related-posts indexes built at startup include the seeded rows
+        if (seed) {
+            seed(url, posts);
+        }
+        
+        appArgs.addAll(List.of(
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=" + url,
+            "--blog.file-catalog.watch=false",
+            "--logging.level.root=WARN"));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MyBlogJavaApplication.class)
+            .run(appArgs.toArray(String[]::new));
+        try {
+            boolean pageCache = context.getEnvironment().getProperty("blog.page-cache.enabled", Boolean.class, true);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            HttpClient client = HttpClient.newBuilder().build();
+            
+            System.out.printf("Warming up for %d s%n", warmup);
+            run(client, baseUrl, routes, warmup);
+            System.out.printf("Measuring for %d s%n", seconds);
+            Map<String, RouteResult> results = run(client, baseUrl, routes, seconds);
+            writeReport(report, routes, results, seconds, pageCache);
+        } finally {
+            context.close();
+        }
+    }
+    
+    private static Map<String, RouteResult> run(HttpClient client, String baseUrl, Map<String, Integer> routes,
+                                                int seconds) throws InterruptedException {
+        Map<String, RouteResult> results = new LinkedHashMap<>();
+        List<Thread> schedulers = new ArrayList<>();
+        List<Thread> inFlight = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        
+        for (Map.Entry<String, Integer> route : routes.entrySet()) {
+            RouteResult result = new RouteResult();
+            results.put(route.getKey(), result);
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / route.getValue();
+            long total = (long) route.getValue() * seconds;
+            
+            schedulers.add(Thread.ofPlatform().name("schedule " + route.getKey()).start(() -> {
+                for (long i = 0; i < total; i++) {
+                    long intended = start + i * intervalNanos;
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    URI uri = URI.create(baseUrl + path(route.getKey(), i));
+                    inFlight.add(Thread.ofVirtual().start(() -> send(client, uri, intended, result)));
+                }
+            }));
+        }
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        for (Thread request : inFlight) {
+            request.join();
+        }
+        return results;
+    }
+    
+    private static void send(HttpClient client, URI uri, long intended, RouteResult result) {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                result.errors.incrementAndGet();
+                return;
+            }
+            result.histogram.recordValue(Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+        } catch (IOException | InterruptedException e) {
+            result.errors.incrementAndGet();
+        }
+    }
+    
+    // "/blog/*" cycles through the blog posts that have markdown files
+    private static String path(String route, long i) {
+        if (route.equals("/blog/*")) {
+            return "/blog/" + BLOG_POSTS.get((int) (i % BLOG_POSTS.size())).replace(".md", "");
+        }
+        return route;
+    }
+    
+    private static void writeReport(Path directory, Map<String, Integer> routes, Map<String, RouteResult> results,
+                                    int seconds, boolean pageCache) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder summary = new StringBuilder();
+        // Cached pages skip the controllers and the database, so results are only comparable with the same setting
+        summary.append(String.format("page cache: %s%n", pageCache ? "on" : "off"));
+        summary.append(String.format("%-16s %8s %8s %8s %9s %9s %9s %9s%n",
+            "route", "target/s", "actual/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, RouteResult> entry : results.entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            summary.append(String.format("%-16s %8d %8.1f %8d %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey(), routes.get(entry.getKey()),
+                histogram.getTotalCount() / (double) seconds, entry.getValue().errors.get(),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI));
+            
+            // Full percentile distribution, plottable with HdrHistogram's tools
+            Path hgrm = directory.resolve(fileName(entry.getKey()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        System.out.print(summary);
+        System.out.println("Report written to " + directory.toAbsolutePath());
+    }
+    
+    private static String fileName(String route) {
+        String name = route.replace("/*", "").replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+        return name.isEmpty() ? "root" : name;
+    }
+    
+    private static Map<String, Integer> parseRoutes(String spec) {
+        Map<String, Integer> routes = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] routeAndRate = part.trim().split("=");
+            if (routeAndRate.length != 2 || Integer.parseInt(routeAndRate[1]) <= 0) {
+                throw new IllegalArgumentException("Expected route=requestsPerSecond, got " + part);
+            }
+            routes.put(routeAndRate[0], Integer.parseInt(routeAndRate[1]));
+        }
+        return routes;
+    }
+    
+    /**
+     * Migrates a fresh database and inserts the real posts plus {@code posts} synthetic ones for the index,
+     * and presentations linked to conferences, in one transaction.
+     */
+    private static void seed(String url, int posts) {
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/migration").load().migrate();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+            .executeWithoutResult(status -> insertRows(jdbcTemplate, posts));
+    }
+    
+    private static void insertRows(JdbcTemplate jdbcTemplate, int posts) {
+        String now = LocalDateTime.now().toString();
+        LocalDate today = LocalDate.now();
+        List<Object[]> blogPosts = new ArrayList<>();
+        for (int i = 0; i < BLOG_POSTS.size(); i++) {
+            blogPosts.add(new Object[] {"Post " + BLOG_POSTS.get(i), BLOG_POSTS.get(i), today.minusDays(i).toString(), now, now});
+        }
+        for (int i = 0; i < posts; i++) {
+            blogPosts.add(new Object[] {"Archive post " + i, "archive_" + i + ".md",
+                today.minusDays(BLOG_POSTS.size() + i).toString(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO blog_posts (title, filename, published_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?)", blogPosts);
+        
+        List<Object[]> conferences = new ArrayList<>();
+        List<Object[]> presentations = new ArrayList<>();
+        List<Object[]> links = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            conferences.add(new Object[] {"Conference " + i, 2010 + i % 15, "https://example.com/" + i, now, now});
+            presentations.add(new Object[] {"Presentation " + i, "Abstract for presentation " + i + ". ".repeat(20),
+                "deck_" + i + ".pptx", "https://github.com/example/" + i, now, now});
+            for (int j = 0; j < 3; j++) {
+                links.add(new Object[] {(i + j - 1) % 30 + 1, i, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO conferences (title, year, link, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+            conferences);
+        jdbcTemplate.batchUpdate("INSERT INTO presentations (title, abstract, slides_url, github_url, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)", presentations);
+        jdbcTemplate.batchUpdate("INSERT INTO conference_presentations (conference_id, presentation_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?)", links);
+    }
+    
+    private static final class RouteResult {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
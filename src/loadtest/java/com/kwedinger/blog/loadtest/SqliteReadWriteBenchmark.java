@@ -0,0 +1,150 @@
+package com.kwedinger.blog.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures blog index read throughput while a writer updates posts concurrently, once with the
+ * driver defaults and once with the pragmas from application-sqlite-perf.properties.
+ * <p>
+ * Usage: ./gradlew sqliteBenchmark [-Preaders=8] [-Pseconds=10] [-Pposts=2000]
+ */
+public class SqliteReadWriteBenchmark {
+    private static final String PROFILE = "/application-sqlite-perf.properties";
+    private static final String PRAGMA_PREFIX = "spring.datasource.hikari.data-source-properties.";
+    
+    public static void main(String[] args) throws Exception {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int posts = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        
+        System.out.printf("readers=%d seconds=%d posts=%d%n", readers, seconds, posts);
+        System.out.println("profile          reads/s    writes/s   busy-errors");
+        run("default", new Properties(), readers, seconds, posts);
+        run("sqlite-perf", loadProfilePragmas(), readers, seconds, posts);
+    }
+    
+    private static void run(String name, Properties pragmas, int readers, int seconds, int posts) throws Exception {
+        Path dir = Files.createTempDirectory("sqlite-bench");
+        String url = "jdbc:sqlite:" + dir.resolve("bench.sqlite3");
+        seed(url, pragmas, posts);
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong busy = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(readers + 1);
+        List<Thread> threads = new ArrayList<>();
+        
+        for (int i = 0; i < readers; i++) {
+            threads.add(new Thread(() -> {
+                try (Connection connection = DriverManager.getConnection(url, pragmas);
+                     PreparedStatement query = connection.prepareStatement(
+                         "SELECT id, title, filename, published_at FROM blog_posts "
+                             + "WHERE published_at IS NOT NULL AND published_at <= ? ORDER BY published_at DESC")) {
+                    while (running.get()) {
+                        try {
+                            query.setString(1, "9999-12-31");
+                            try (ResultSet rs = query.executeQuery()) {
+                                while (rs.next()) {
+                                    rs.getString(2);
+                                }
+                            }
+                            reads.incrementAndGet();
+                        } catch (SQLException e) {
+                            busy.incrementAndGet();
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            }, "reader-" + i));
+        }
+        threads.add(new Thread(() -> {
+            try (Connection connection = DriverManager.getConnection(url, pragmas);
+                 PreparedStatement update = connection.prepareStatement(
+                     "UPDATE blog_posts SET updated_at = ? WHERE id = ?")) {
+                long id = 0;
+                while (running.get()) {
+                    try {
+                        update.setString(1, LocalDateTime.now().toString());
+                        update.setLong(2, (id++ % posts) + 1);
+                        update.executeUpdate();
+                        writes.incrementAndGet();
+                    } catch (SQLException e) {
+                        busy.incrementAndGet();
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                done.countDown();
+            }
+        }, "writer"));
+        
+        threads.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        
+        System.out.printf("%-14s %9.0f %11.0f %13d%n", name,
+            reads.get() / (double) seconds, writes.get() / (double) seconds, busy.get());
+    }
+    
+    private static void seed(String url, Properties pragmas, int posts) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, pragmas);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE blog_posts (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT, "
+                + "filename TEXT UNIQUE, published_at TEXT, created_at TEXT NOT NULL, updated_at TEXT NOT NULL)");
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO blog_posts (title, filename, published_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?)")) {
+                LocalDateTime now = LocalDateTime.now();
+                for (int i = 0; i < posts; i++) {
+                    insert.setString(1, "Post " + i);
+                    insert.setString(2, "post_" + i + ".md");
+                    insert.setString(3, now.toLocalDate().minusDays(i).toString());
+                    insert.setString(4, now.toString());
+                    insert.setString(5, now.toString());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+    
+    private static Properties loadProfilePragmas() throws IOException {
+        Properties profile = new Properties();
+        try (InputStream in = SqliteReadWriteBenchmark.class.getResourceAsStream(PROFILE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + PROFILE);
+            }
+            profile.load(in);
+        }
+        Properties pragmas = new Properties();
+        for (String key : profile.stringPropertyNames()) {
+            if (key.startsWith(PRAGMA_PREFIX)) {
+                pragmas.setProperty(key.substring(PRAGMA_PREFIX.length()), profile.getProperty(key));
+            }
+        }
+        return pragmas;
+    }
+}
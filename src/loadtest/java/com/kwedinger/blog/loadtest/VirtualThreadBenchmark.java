@@ -0,0 +1,165 @@
+package com.kwedinger.blog.loadtest;
+
+import com.kwedinger.blog.MyBlogJavaApplication;
+import com.kwedinger.blog.config.VirtualThreadPinningMonitor;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares request throughput and latency with Tomcat on platform threads versus virtual threads.
+ * Each mode starts the app on a fresh SQLite file with the page cache off, so every request reaches
+ * the database and the markdown files, then drives the public routes from many concurrent clients.
+ * <p>
+ * Usage: ./gradlew virtualThreadBenchmark [-Pconcurrency=1000] [-Pseconds=10]
+ */
+public class VirtualThreadBenchmark {
+    private static final List<String> POSTS = List.of(
+        "2016-8-9-HowDoIChooseAPresentationTopic.md",
+        "boost_your_team_bus_factor_creating_docs_that_work.md",
+        "rebuilding_my_blog_with_cursor.md");
+    private static final int WARMUP_SECONDS = 3;
+    
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        System.out.printf("concurrency=%d seconds=%d%n", concurrency, seconds);
+        List<String> rows = new ArrayList<>();
+        rows.add(run(false, concurrency, seconds));
+        rows.add(run(true, concurrency, seconds));
+        System.out.println("threads     req/s     p50 ms    p99 ms    max ms    errors   pinned");
+        rows.forEach(System.out::println);
+    }
+    
+    private static String run(boolean virtualThreads, int concurrency, int seconds) throws Exception {
+        String url = "jdbc:sqlite:" + Files.createTempDirectory("vthread-bench").resolve("bench.sqlite3");
+        // Seed before startup so the search, excerpt and related-posts indexes built at startup include the posts
+        seed(url);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MyBlogJavaApplication.class).run(
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=" + url,
+            "--spring.jpa.hibernate.ddl-auto=validate",
+            "--blog.datasource.read-write-split.enabled=true",
+            "--blog.page-cache.enabled=false",
+            "--blog.file-catalog.watch=false",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--blog.diagnostics.pinned-threads.enabled=" + virtualThreads,
+            "--logging.level.root=WARN");
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<String> paths = new ArrayList<>(List.of("/", "/presentations", "/about"));
+            POSTS.forEach(post -> paths.add("/blog/" + post.replace(".md", "")));
+            
+            HttpClient client = HttpClient.newHttpClient();
+            drive(client, baseUrl, paths, concurrency, WARMUP_SECONDS);
+            Measurement measurement = drive(client, baseUrl, paths, concurrency, seconds);
+            
+            VirtualThreadPinningMonitor monitor = context.getBeanProvider(VirtualThreadPinningMonitor.class).getIfAvailable();
+            long pinned = monitor != null ? monitor.getPinnedCount() : 0;
+            return String.format("%-9s %7.0f %10.2f %9.2f %9.2f %9d %8d", virtualThreads ? "virtual" : "platform",
+                measurement.count() / (double) seconds,
+                measurement.percentile(50), measurement.percentile(99), measurement.percentile(100),
+                measurement.errors(), pinned);
+        } finally {
+            context.close();
+        }
+    }
+    
+    private static Measurement drive(HttpClient client, String baseUrl, List<String> paths,
+                                     int concurrency, int seconds) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        List<Thread> clients = new ArrayList<>();
+        
+        // Virtual client threads so the load generator itself is not limited by OS threads
+        for (int i = 0; i < concurrency; i++) {
+            int clientId = i;
+            clients.add(Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                int next = clientId;
+                while (running.get()) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(next++ % paths.size()))).build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                latencies[clientId] = samples;
+                counts[clientId] = count;
+            }));
+        }
+        
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread clientThread : clients) {
+            clientThread.join();
+        }
+        
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Measurement(all, errors.get());
+    }
+    
+    private static void seed(String url) {
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+        String now = LocalDateTime.now().toString();
+        String today = LocalDate.now().toString();
+        for (String post : POSTS) {
+            jdbcTemplate.update("INSERT INTO blog_posts (title, filename, published_at, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", post, post, today, now, now);
+        }
+    }
+    
+    private record Measurement(long[] sortedNanos, long errors) {
+        int count() {
+            return sortedNanos.length;
+        }
+        
+        double percentile(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+}
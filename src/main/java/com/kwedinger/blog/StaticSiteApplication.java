@@ -0,0 +1,15 @@
+package com.kwedinger.blog;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point for the renderStaticSite task: starts the app, lets StaticSiteRenderer render the pages
+ * named by {@code blog.static-site.output-dir}, then shuts down with the renderer's exit code.
+ */
+public class StaticSiteApplication {
+	public static void main(String[] args) {
+		ConfigurableApplicationContext context = SpringApplication.run(MyBlogJavaApplication.class, args);
+		System.exit(SpringApplication.exit(context));
+	}
+}
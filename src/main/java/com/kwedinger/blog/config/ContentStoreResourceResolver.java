@@ -0,0 +1,55 @@
+package com.kwedinger.blog.config;
+
+import com.kwedinger.blog.service.ContentStore;
+import com.kwedinger.blog.service.FileCatalog;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resolves content files (blog markdown, presentation decks) from the content store's
+ * memory-mapped buffers, falling back to the configured static locations.
+ */
+public class ContentStoreResourceResolver extends AbstractResourceResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ContentStoreResourceResolver.class);
+    
+    private final ContentStore contentStore;
+    private final Function<String, Optional<FileCatalog.Entry>> catalogLookup;
+    
+    public ContentStoreResourceResolver(ContentStore contentStore,
+                                        Function<String, Optional<FileCatalog.Entry>> catalogLookup) {
+        this.contentStore = contentStore;
+        this.catalogLookup = catalogLookup;
+    }
+    
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        // Only top-level catalog entries are served, which rules out path traversal
+        Optional<FileCatalog.Entry> entry = catalogLookup.apply(UriUtils.decode(requestPath, StandardCharsets.UTF_8));
+        if (entry.isPresent()) {
+            try {
+                return contentStore.resource(entry.get());
+            } catch (IOException e) {
+                logger.error("Error mapping content file {}: {}", requestPath, e.getMessage());
+            }
+        }
+        return chain.resolveResource(request, requestPath, locations);
+    }
+    
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+}
@@ -0,0 +1,103 @@
+package com.kwedinger.blog.config;
+
+import com.kwedinger.blog.config.ServerTiming.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the content hot paths: every repository method, markdown rendering, blog post file reads and the
+ * file catalog listings. Each subsystem gets its own timer name so p99 alerts can target it, tagged by
+ * class, method and the exception thrown ({@code none} on success).
+ * <p>
+ * When {@link ServerTimingFilter} is on, the same timings feed the request's {@code Server-Timing} phases.
+ */
+@Aspect
+@Component
+public class ContentTimingAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    // Registering builds and looks up a tagged meter id each time, so each timer is registered once and reused
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    
+    public ContentTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Inherited methods like findById are declared on CrudRepository, so name the app's interface instead
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(), ContentTimingAspect::repositoryName);
+        return time("blog.repository", repository, Phase.DB, joinPoint);
+    }
+    
+    @Around("execution(* com.kwedinger.blog.config.ModelAttributeConfig.*(..))")
+    public Object timeModelAttribute(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("blog.model.attribute", "ModelAttributeConfig", Phase.MODEL, joinPoint);
+    }
+    
+    @Around("execution(* com.kwedinger.blog.service.MarkdownService.renderMarkdown(..))")
+    public Object timeMarkdown(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("blog.markdown.render", "MarkdownService", Phase.MARKDOWN, joinPoint);
+    }
+    
+    @Around("execution(* com.kwedinger.blog.service.BlogPostFileReader.readContent(..))"
+        + " || execution(* com.kwedinger.blog.service.BlogPostFileReader.excerpt(..))")
+    public Object timeFileRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("blog.file.read", "BlogPostFileReader", Phase.FILE, joinPoint);
+    }
+    
+    @Around("execution(* com.kwedinger.blog.service.FileService.getAvailable*(..))")
+    public Object timeFileListing(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("blog.file.listing", "FileService", null, joinPoint);
+    }
+    
+    private Object time(String name, String className, Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming serverTiming = phase != null ? ServerTiming.current() : null;
+        long parentChildNanos = serverTiming != null ? serverTiming.enter() : 0;
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timers.computeIfAbsent(new TimerKey(name, className, joinPoint.getSignature().getName(), exception), this::timer)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+            if (serverTiming != null) {
+                serverTiming.exit(phase, elapsed, parentChildNanos);
+            }
+        }
+    }
+    
+    private Timer timer(TimerKey key) {
+        return Timer.builder(key.name())
+            .tag("class", key.className())
+            .tag("method", key.method())
+            .tag("exception", key.exception())
+            .register(meterRegistry);
+    }
+    
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && type.getPackageName().startsWith("com.kwedinger.blog")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+    
+    // The class is part of the key because inherited repository methods share one signature across repositories
+    private record TimerKey(String name, String className, String method, String exception) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.kwedinger.blog.config;
+
+import com.kwedinger.blog.service.PageCache;
+import com.kwedinger.blog.service.PageCache.CachedPage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Serves public GET pages from {@link PageCache}, rendering through the controllers only on a miss.
+ */
+@Component
+public class PageCacheFilter extends OncePerRequestFilter {
+    // The only query parameters that change a cached page (blog index cursors)
+    private static final List<String> KEY_PARAMETERS = List.of("before", "after");
+    
+    private final PageCache pageCache;
+    
+    public PageCacheFilter(PageCache pageCache) {
+        this.pageCache = pageCache;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !pageCache.isEnabled()
+            || !"GET".equals(request.getMethod())
+            || !pageCache.isCacheablePath(path(request));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = key(request);
+        // Set on hits and misses alike, since cached hits may be gzipped
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        CachedPage cached = pageCache.get(key);
+        if (cached != null) {
+            writeCachedPage(request, response, cached);
+            return;
+        }
+        
+        response.setHeader("X-Page-Cache", "MISS");
+        long generation = pageCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("text/html")
+                && wrapper.getHeader(HttpHeaders.SET_COOKIE) == null) {
+            pageCache.put(key, generation, contentType, wrapper.getContentAsByteArray(),
+                wrapper.getHeader(HttpHeaders.ETAG),
+                lastModified(wrapper),
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL));
+        }
+        wrapper.copyBodyToResponse();
+    }
+    
+    private void writeCachedPage(HttpServletRequest request, HttpServletResponse response, CachedPage cached)
+            throws IOException {
+        if (cached.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+        }
+        response.setHeader("X-Page-Cache", "HIT");
+        if (cached.etag() != null
+                && new ServletWebRequest(request, response).checkNotModified(cached.etag(), cached.lastModified())) {
+            return;
+        }
+        
+        byte[] body = cached.body();
+        if (cached.gzippedBody() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.gzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+    
+    // An explicit gzip entry wins over *; either refuses gzip with q=0 (RFC 9110 section 12.5.3)
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double wildcard = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] fields = coding.split(";");
+            String name = fields[0].strip();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                return quality(fields) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(fields);
+            }
+        }
+        return wildcard > 0;
+    }
+    
+    private static double quality(String[] fields) {
+        for (int i = 1; i < fields.length; i++) {
+            String parameter = fields[i].strip();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+    
+    private static long lastModified(HttpServletResponse response) {
+        String value = response.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (value == null) {
+            return -1;
+        }
+        return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    }
+    
+    // Other parameters are ignored by the controllers, so they must not create copies of the same page
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path(request));
+        char separator = '?';
+        for (String name : KEY_PARAMETERS) {
+            String value = request.getParameter(name);
+            if (value != null) {
+                key.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+    
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,82 @@
+package com.kwedinger.blog.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits SQLite access into a pool of read-only connections for {@code @Transactional(readOnly = true)}
+ * work and a single writer connection, so writes queue in the pool rather than contending for
+ * SQLite's write lock and failing with SQLITE_BUSY. Routing is done by {@link LazyConnectionDataSourceProxy}:
+ * Spring marks the connection of a read-only transaction read-only before the first statement, which sends
+ * it to the reader pool. Everything else, including Flyway and plain JDBC outside a transaction, uses the writer.
+ * <p>
+ * Requires a file database ({@code :memory:} databases are per connection), open-in-view off so each
+ * transaction has its own EntityManager, and Hibernate holding its connection until the EntityManager
+ * closes, which is when Spring applies the read-only flag. Nested REQUIRES_NEW writes would deadlock on
+ * the single writer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.read-write-split.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig sqliteHikariConfig(DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setDriverClassName(properties.determineDriverClassName());
+        return config;
+    }
+    
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writerDataSource(HikariConfig sqliteHikariConfig,
+                                             @Value("${blog.datasource.read-write-split.write-timeout:30000}") long writeTimeout) {
+        HikariConfig config = copy(sqliteHikariConfig);
+        config.setPoolName("sqlite-writer");
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        // Writers wait here for the single connection instead of racing for the database lock
+        config.setConnectionTimeout(writeTimeout);
+        return new HikariDataSource(config);
+    }
+    
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readerDataSource(HikariConfig sqliteHikariConfig,
+                                             @Value("${blog.datasource.read-write-split.reader-pool-size:8}") int poolSize) {
+        HikariConfig config = copy(sqliteHikariConfig);
+        config.setPoolName("sqlite-readers");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        // sqlite-jdbc cannot switch an open connection to read-only, so enforce it per connection
+        config.setConnectionInitSql("PRAGMA query_only = 1");
+        return new HikariDataSource(config);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writerDataSource") DataSource writerDataSource,
+                                 @Qualifier("readerDataSource") DataSource readerDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writerDataSource);
+        proxy.setReadOnlyDataSource(readerDataSource);
+        return proxy;
+    }
+    
+    private static HikariConfig copy(HikariConfig source) {
+        HikariConfig config = new HikariConfig();
+        source.copyStateTo(config);
+        // Readers may briefly hold locks the writer needs (and vice versa outside WAL mode)
+        config.getDataSourceProperties().putIfAbsent("busy_timeout", "5000");
+        return config;
+    }
+}
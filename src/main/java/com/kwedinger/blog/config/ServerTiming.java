@@ -0,0 +1,88 @@
+package com.kwedinger.blog.config;
+
+import java.util.Locale;
+
+/**
+ * Phase timings for one request, emitted as a {@code Server-Timing} header by {@link ServerTimingFilter}.
+ * <p>
+ * Instrumentation calls {@link #current()}, which is a single thread-local read that returns null unless the
+ * filter opened a recorder for this request. Times are exclusive: a repository call made while the view
+ * renders counts toward {@code db}, not {@code view}.
+ */
+public final class ServerTiming {
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    // Time spent in phases nested inside the one currently open
+    private long childNanos;
+    
+    private ServerTiming() {
+    }
+    
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+    
+    static ServerTiming open() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+    
+    static void close() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Starts a phase. The returned value must be passed to {@link #exit} when the phase ends.
+     */
+    public long enter() {
+        long parentChildNanos = childNanos;
+        childNanos = 0;
+        return parentChildNanos;
+    }
+    
+    public void exit(Phase phase, long elapsedNanos, long parentChildNanos) {
+        nanos[phase.ordinal()] += elapsedNanos - childNanos;
+        counts[phase.ordinal()]++;
+        childNanos = parentChildNanos + elapsedNanos;
+    }
+    
+    String header(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            int count = counts[phase.ordinal()];
+            if (count > 0) {
+                append(header, phase.metric, nanos[phase.ordinal()], phase.description + " (" + count + ")");
+            }
+        }
+        append(header, "total", totalNanos, "Total");
+        return header.toString();
+    }
+    
+    private static void append(StringBuilder header, String name, long nanos, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name)
+            .append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0))
+            .append(";desc=\"").append(description).append('"');
+    }
+    
+    public enum Phase {
+        MODEL("model", "Model attributes"),
+        DB("db", "Repository calls"),
+        FILE("file", "Blog post file reads"),
+        MARKDOWN("markdown", "Markdown rendering"),
+        VIEW("view", "Template rendering");
+        
+        private final String metric;
+        private final String description;
+        
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.kwedinger.blog.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Adds a {@code Server-Timing} header with the per-phase breakdown from {@link ServerTiming} to page and
+ * admin responses. The view phase ends after the body is written, so the body is buffered until the header
+ * is set. Toggled at runtime from the admin dashboard; when off, requests pass straight through.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final String SERVER_TIMING = "Server-Timing";
+    // The content resource handlers in WebMvcConfig and the streamed NDJSON export
+    private static final List<String> SKIPPED_PREFIXES = List.of("/blog_posts/", "/presentations/", "/admin/data/");
+    
+    private final List<String> staticPrefixes = new ArrayList<>(SKIPPED_PREFIXES);
+    private final Set<String> staticFiles = new HashSet<>();
+    private volatile boolean enabled;
+    
+    public ServerTimingFilter(@Value("${blog.server-timing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        // Top-level entries of the static location: files are served at their own path, directories below it
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath:/static/*")) {
+                // Directory URLs inside a jar end with a slash, so take the last segment of the URL rather than the filename
+                String url = resource.getURL().toString().replaceAll("/+$", "");
+                String path = url.substring(url.lastIndexOf('/'));
+                if (resource.isReadable()) {
+                    staticFiles.add(path);
+                } else {
+                    staticPrefixes.add(path + "/");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        // Static files and the streamed NDJSON export are not worth buffering
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return staticFiles.contains(path) || staticPrefixes.stream().anyMatch(path::startsWith);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        ServerTiming timing = ServerTiming.open();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            ServerTiming.close();
+        }
+        wrapper.setHeader(SERVER_TIMING, timing.header(System.nanoTime() - start));
+        wrapper.copyBodyToResponse();
+    }
+}
@@ -1,7 +1,7 @@
 package com.kwedinger.blog.config;
 
 import com.kwedinger.blog.model.ContactInfo;
-import com.kwedinger.blog.service.BlogPostFileReader;
+import com.kwedinger.blog.service.BlogPostExcerptIndex;
 import com.kwedinger.blog.service.ContactInfoService;
 import com.kwedinger.blog.service.FileService;
 import com.kwedinger.blog.service.MarkdownService;
@@ -14,14 +14,14 @@ public class ViewHelper {
     private final MarkdownService markdownService;
     private final FileService fileService;
     private final ContactInfoService contactInfoService;
-    private final BlogPostFileReader blogPostFileReader;
+    private final BlogPostExcerptIndex blogPostExcerptIndex;
     
     public ViewHelper(MarkdownService markdownService, FileService fileService, 
-                     ContactInfoService contactInfoService, BlogPostFileReader blogPostFileReader) {
+                     ContactInfoService contactInfoService, BlogPostExcerptIndex blogPostExcerptIndex) {
         this.markdownService = markdownService;
         this.fileService = fileService;
         this.contactInfoService = contactInfoService;
-        this.blogPostFileReader = blogPostFileReader;
+        this.blogPostExcerptIndex = blogPostExcerptIndex;
     }
     
     public String adminInputClasses() {
@@ -71,6 +71,6 @@ public class ViewHelper {
     }
     
     public String blogPostExcerpt(String filename, int words) {
-        return blogPostFileReader.excerpt(filename, words);
+        return blogPostExcerptIndex.excerpt(filename, words);
     }
 }
@@ -0,0 +1,75 @@
+package com.kwedinger.blog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times Thymeleaf view rendering, tagged by route pattern and template. postHandle runs right before the
+ * view renders and afterCompletion right after, so the gap between them is the render time. It is also
+ * reported as the {@code view} phase of {@link ServerTiming}.
+ */
+@Component
+public class ViewRenderTimingInterceptor implements HandlerInterceptor {
+    private static final String START = ViewRenderTimingInterceptor.class.getName() + ".start";
+    private static final String TEMPLATE = ViewRenderTimingInterceptor.class.getName() + ".template";
+    private static final String PARENT_CHILD_NANOS = ViewRenderTimingInterceptor.class.getName() + ".parentChildNanos";
+    
+    private final MeterRegistry meterRegistry;
+    // One timer per route and template, registered on first use rather than on every request
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    
+    public ViewRenderTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        String viewName = modelAndView != null ? modelAndView.getViewName() : null;
+        if (viewName == null || viewName.startsWith("redirect:") || viewName.startsWith("forward:")) {
+            return;
+        }
+        request.setAttribute(TEMPLATE, viewName);
+        ServerTiming serverTiming = ServerTiming.current();
+        if (serverTiming != null) {
+            request.setAttribute(PARENT_CHILD_NANOS, serverTiming.enter());
+        }
+        request.setAttribute(START, System.nanoTime());
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(START) instanceof Long start)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        TimerKey key = new TimerKey(route != null ? route.toString() : "none", (String) request.getAttribute(TEMPLATE));
+        timers.computeIfAbsent(key, this::timer).record(elapsed, TimeUnit.NANOSECONDS);
+        ServerTiming serverTiming = ServerTiming.current();
+        if (serverTiming != null && request.getAttribute(PARENT_CHILD_NANOS) instanceof Long parentChildNanos) {
+            serverTiming.exit(ServerTiming.Phase.VIEW, elapsed, parentChildNanos);
+        }
+    }
+    
+    private Timer timer(TimerKey key) {
+        return Timer.builder("blog.view.render")
+            .tag("route", key.route())
+            .tag("template", key.template())
+            .register(meterRegistry);
+    }
+    
+    private record TimerKey(String route, String template) {
+    }
+}
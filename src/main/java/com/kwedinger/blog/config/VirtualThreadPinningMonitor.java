@@ -0,0 +1,62 @@
+package com.kwedinger.blog.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier longer than a threshold, with the frames that
+ * pinned them. Uses the JFR {@code jdk.VirtualThreadPinned} event, which replaced
+ * {@code -Djdk.tracePinnedThreads}. Since JDK 24 synchronized blocks no longer pin, so what shows up here
+ * is mostly native frames, such as sqlite-jdbc's JNI calls.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.diagnostics.pinned-threads.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+    
+    private final RecordingStream stream = new RecordingStream();
+    private final AtomicLong pinnedCount = new AtomicLong();
+    
+    public VirtualThreadPinningMonitor(@Value("${blog.diagnostics.pinned-threads.threshold:20ms}") Duration threshold) {
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Logging virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+    
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+    
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        String frames = event.getStackTrace() == null ? "(no stack trace)" : event.getStackTrace().getFrames().stream()
+            .limit(MAX_FRAMES)
+            .map(VirtualThreadPinningMonitor::describe)
+            .collect(Collectors.joining("\n    at ", "\n    at ", ""));
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + (frame.isJavaFrame() ? ":" + frame.getLineNumber() : " (native)");
+    }
+}
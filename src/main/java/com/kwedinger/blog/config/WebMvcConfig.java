@@ -1,15 +1,50 @@
 package com.kwedinger.blog.config;
 
+import com.kwedinger.blog.service.ContentStore;
+import com.kwedinger.blog.service.FileService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.PathResourceResolver;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
+    private final ContentStore contentStore;
+    private final FileService fileService;
+    private final ViewRenderTimingInterceptor viewRenderTimingInterceptor;
+    
+    public WebMvcConfig(ContentStore contentStore, FileService fileService,
+                        ViewRenderTimingInterceptor viewRenderTimingInterceptor) {
+        this.contentStore = contentStore;
+        this.fileService = fileService;
+        this.viewRenderTimingInterceptor = viewRenderTimingInterceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(viewRenderTimingInterceptor);
+    }
     
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         // Health check endpoint - return simple text response
         registry.addViewController("/up").setViewName("up");
     }
+    
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Content files come from the content store, which may live outside the classpath
+        registry.addResourceHandler("/blog_posts/**")
+            .addResourceLocations("classpath:/static/blog_posts/")
+            .resourceChain(false)
+            .addResolver(new ContentStoreResourceResolver(contentStore, fileService::getBlogPostFile))
+            .addResolver(new PathResourceResolver());
+        registry.addResourceHandler("/presentations/**")
+            .addResourceLocations("classpath:/static/presentations/")
+            .resourceChain(false)
+            .addResolver(new ContentStoreResourceResolver(contentStore, fileService::getPresentationFile))
+            .addResolver(new PathResourceResolver());
+    }
 }
@@ -3,35 +3,59 @@ package com.kwedinger.blog.controller;
 import com.kwedinger.blog.model.BlogPost;
 import com.kwedinger.blog.repository.BlogPostRepository;
 import com.kwedinger.blog.service.BlogPostFileReader;
+import com.kwedinger.blog.service.BlogPostPageService;
+import com.kwedinger.blog.service.ConditionalGetService;
+import com.kwedinger.blog.service.RelatedPostsIndex;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDate;
-import java.util.List;
-
 @Controller
 public class BlogPostsController {
     private final BlogPostRepository blogPostRepository;
     private final BlogPostFileReader blogPostFileReader;
+    private final BlogPostPageService blogPostPageService;
+    private final ConditionalGetService conditionalGetService;
+    private final RelatedPostsIndex relatedPostsIndex;
     
-    public BlogPostsController(BlogPostRepository blogPostRepository, BlogPostFileReader blogPostFileReader) {
+    public BlogPostsController(BlogPostRepository blogPostRepository, BlogPostFileReader blogPostFileReader,
+                               BlogPostPageService blogPostPageService, ConditionalGetService conditionalGetService,
+                               RelatedPostsIndex relatedPostsIndex) {
         this.blogPostRepository = blogPostRepository;
         this.blogPostFileReader = blogPostFileReader;
+        this.blogPostPageService = blogPostPageService;
+        this.conditionalGetService = conditionalGetService;
+        this.relatedPostsIndex = relatedPostsIndex;
     }
     
     @GetMapping({"/", "/blog"})
-    public String index(Model model) {
-        List<BlogPost> blogPosts = blogPostRepository.findPublishedRecent(LocalDate.now());
-        model.addAttribute("blogPosts", blogPosts);
+    public String index(@RequestParam(required = false) String before,
+                        @RequestParam(required = false) String after,
+                        Model model, ServletWebRequest webRequest) {
+        BlogPostPageService.Page page;
+        if (before != null) {
+            page = blogPostPageService.before(parseCursor(before));
+        } else if (after != null) {
+            page = blogPostPageService.after(parseCursor(after));
+        } else {
+            page = blogPostPageService.firstPage();
+        }
+        
+        if (conditionalGetService.checkNotModified(webRequest, conditionalGetService.forBlogIndex(page))) {
+            return null;
+        }
+        model.addAttribute("blogPosts", page.posts());
+        model.addAttribute("page", page);
         return "blog_posts/index";
     }
     
     @GetMapping("/blog/{filename}")
-    public String show(@PathVariable String filename, Model model) {
+    public String show(@PathVariable String filename, Model model, ServletWebRequest webRequest) {
         // If filename doesn't have .md extension, add it
         if (!filename.endsWith(".md")) {
             filename = filename + ".md";
@@ -40,6 +64,10 @@ public class BlogPostsController {
         BlogPost blogPost = blogPostRepository.findByFilename(filename)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog post not found"));
         
+        if (conditionalGetService.checkNotModified(webRequest, conditionalGetService.forBlogPost(blogPost))) {
+            return null;
+        }
+        
         String blogContent = blogPostFileReader.readContent(blogPost.getFilename());
         if (blogContent == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog post not found");
@@ -47,6 +75,12 @@ public class BlogPostsController {
         
         model.addAttribute("blogPost", blogPost);
         model.addAttribute("blogContent", blogContent);
+        model.addAttribute("relatedPosts", relatedPostsIndex.relatedTo(blogPost.getId()));
         return "blog_posts/show";
     }
+    
+    private BlogPostPageService.Cursor parseCursor(String value) {
+        return BlogPostPageService.Cursor.parse(value)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor"));
+    }
 }
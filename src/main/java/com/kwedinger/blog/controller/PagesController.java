@@ -3,23 +3,31 @@ package com.kwedinger.blog.controller;
 import com.kwedinger.blog.model.Bio;
 import com.kwedinger.blog.model.ContactInfo;
 import com.kwedinger.blog.service.BioService;
+import com.kwedinger.blog.service.ConditionalGetService;
 import com.kwedinger.blog.service.ContactInfoService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @Controller
 public class PagesController {
     private final BioService bioService;
     private final ContactInfoService contactInfoService;
+    private final ConditionalGetService conditionalGetService;
     
-    public PagesController(BioService bioService, ContactInfoService contactInfoService) {
+    public PagesController(BioService bioService, ContactInfoService contactInfoService,
+                           ConditionalGetService conditionalGetService) {
         this.bioService = bioService;
         this.contactInfoService = contactInfoService;
+        this.conditionalGetService = conditionalGetService;
     }
     
     @GetMapping("/about")
-    public String about(Model model) {
+    public String about(Model model, ServletWebRequest webRequest) {
+        if (conditionalGetService.checkNotModified(webRequest, conditionalGetService.forAbout())) {
+            return null;
+        }
         Bio bio = bioService.getInstance();
         ContactInfo contactInfo = contactInfoService.getInstance();
         model.addAttribute("bio", bio);
@@ -1,27 +1,32 @@
 package com.kwedinger.blog.controller;
 
-import com.kwedinger.blog.model.Presentation;
+import com.kwedinger.blog.model.PresentationSummary;
 import com.kwedinger.blog.repository.PresentationRepository;
+import com.kwedinger.blog.service.ConditionalGetService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 public class PresentationsController {
     private final PresentationRepository presentationRepository;
+    private final ConditionalGetService conditionalGetService;
     
-    public PresentationsController(PresentationRepository presentationRepository) {
+    public PresentationsController(PresentationRepository presentationRepository,
+                                   ConditionalGetService conditionalGetService) {
         this.presentationRepository = presentationRepository;
+        this.conditionalGetService = conditionalGetService;
     }
     
     @GetMapping("/presentations")
-    public String index(Model model) {
-        List<Presentation> presentations = presentationRepository.findAll().stream()
-            .sorted((p1, p2) -> p1.getTitle().compareToIgnoreCase(p2.getTitle()))
-            .collect(Collectors.toList());
+    public String index(Model model, ServletWebRequest webRequest) {
+        if (conditionalGetService.checkNotModified(webRequest, conditionalGetService.forPresentations())) {
+            return null;
+        }
+        List<PresentationSummary> presentations = presentationRepository.findAllSummaries();
         model.addAttribute("presentations", presentations);
         return "presentations/index";
     }
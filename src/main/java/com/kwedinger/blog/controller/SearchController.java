@@ -0,0 +1,35 @@
+package com.kwedinger.blog.controller;
+
+import com.kwedinger.blog.service.SearchIndex;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+public class SearchController {
+    private static final int MAX_QUERY_LENGTH = 200;
+    // Keeps the result offset well inside an int; nobody pages this far
+    private static final int MAX_PAGE = 1000;
+    
+    private final SearchIndex searchIndex;
+    
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+    
+    @GetMapping("/search")
+    public String search(@RequestParam(required = false) String q,
+                         @RequestParam(defaultValue = "1") int page,
+                         Model model) {
+        String query = q == null ? "" : q.strip();
+        if (query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+        model.addAttribute("query", query);
+        if (!query.isEmpty()) {
+            model.addAttribute("results", searchIndex.search(query, Math.clamp(page, 1, MAX_PAGE)));
+        }
+        return "search/index";
+    }
+}
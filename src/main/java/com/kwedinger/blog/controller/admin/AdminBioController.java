@@ -2,6 +2,7 @@ package com.kwedinger.blog.controller.admin;
 
 import com.kwedinger.blog.model.Bio;
 import com.kwedinger.blog.service.BioService;
+import com.kwedinger.blog.service.PageCache;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +13,11 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 public class AdminBioController extends AdminBaseController {
     private final BioService bioService;
+    private final PageCache pageCache;
     
-    public AdminBioController(BioService bioService) {
+    public AdminBioController(BioService bioService, PageCache pageCache) {
         this.bioService = bioService;
+        this.pageCache = pageCache;
     }
     
     @GetMapping("/bio")
@@ -33,11 +36,13 @@ public class AdminBioController extends AdminBaseController {
     
     @PostMapping("/bio")
     public String update(@ModelAttribute Bio bio, RedirectAttributes redirectAttributes) {
-        Bio existingBio = bioService.getInstance();
+        Bio existingBio = bioService.findForUpdate();
         existingBio.setName(bio.getName());
         existingBio.setBriefBio(bio.getBriefBio());
         existingBio.setContent(bio.getContent());
         bioService.save(existingBio);
+        // Bio and contact info appear in the shared header/footer
+        pageCache.evictAll();
         redirectAttributes.addFlashAttribute("notice", "Bio updated successfully.");
         return "redirect:/admin/bio";
     }
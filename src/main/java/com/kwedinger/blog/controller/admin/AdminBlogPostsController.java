@@ -2,8 +2,12 @@ package com.kwedinger.blog.controller.admin;
 
 import com.kwedinger.blog.model.BlogPost;
 import com.kwedinger.blog.repository.BlogPostRepository;
+import com.kwedinger.blog.service.BlogPostExcerptIndex;
 import com.kwedinger.blog.service.BlogPostFileReader;
 import com.kwedinger.blog.service.FileService;
+import com.kwedinger.blog.service.PageCache;
+import com.kwedinger.blog.service.RelatedPostsIndex;
+import com.kwedinger.blog.service.SearchIndex;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,18 +23,27 @@ public class AdminBlogPostsController extends AdminBaseController {
     private final BlogPostRepository blogPostRepository;
     private final FileService fileService;
     private final BlogPostFileReader blogPostFileReader;
+    private final BlogPostExcerptIndex blogPostExcerptIndex;
+    private final PageCache pageCache;
+    private final SearchIndex searchIndex;
+    private final RelatedPostsIndex relatedPostsIndex;
     
-    public AdminBlogPostsController(BlogPostRepository blogPostRepository, FileService fileService, BlogPostFileReader blogPostFileReader) {
+    public AdminBlogPostsController(BlogPostRepository blogPostRepository, FileService fileService,
+                                   BlogPostFileReader blogPostFileReader, BlogPostExcerptIndex blogPostExcerptIndex,
+                                   PageCache pageCache, SearchIndex searchIndex,
+                                   RelatedPostsIndex relatedPostsIndex) {
         this.blogPostRepository = blogPostRepository;
         this.fileService = fileService;
         this.blogPostFileReader = blogPostFileReader;
+        this.blogPostExcerptIndex = blogPostExcerptIndex;
+        this.pageCache = pageCache;
+        this.searchIndex = searchIndex;
+        this.relatedPostsIndex = relatedPostsIndex;
     }
     
     @GetMapping("/blog_posts")
     public String index(Model model) {
-        List<BlogPost> blogPosts = blogPostRepository.findAll().stream()
-            .sorted((b1, b2) -> b2.getCreatedAt().compareTo(b1.getCreatedAt()))
-            .toList();
+        List<BlogPost> blogPosts = blogPostRepository.findAllByOrderByCreatedAtDesc();
         model.addAttribute("blogPosts", blogPosts);
         return "admin/blog_posts/index";
     }
@@ -39,7 +52,7 @@ public class AdminBlogPostsController extends AdminBaseController {
     public String show(@PathVariable Long id, Model model) {
         BlogPost blogPost = blogPostRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        String blogContent = fileService.getAvailableBlogPostFiles().contains(blogPost.getFilename()) 
+        String blogContent = fileService.hasBlogPostFile(blogPost.getFilename()) 
             ? blogPostFileReader.readContent(blogPost.getFilename()) 
             : null;
         model.addAttribute("blogPost", blogPost);
@@ -57,6 +70,10 @@ public class AdminBlogPostsController extends AdminBaseController {
     @PostMapping("/blog_posts")
     public String create(@ModelAttribute BlogPost blogPost, RedirectAttributes redirectAttributes) {
         blogPostRepository.save(blogPost);
+        blogPostExcerptIndex.refresh(blogPost.getFilename());
+        searchIndex.index(blogPost);
+        relatedPostsIndex.update(blogPost);
+        pageCache.evictBlogPost(blogPost.getFilename());
         redirectAttributes.addFlashAttribute("notice", "Blog post created successfully.");
         return "redirect:/admin/blog_posts/" + blogPost.getId();
     }
@@ -74,17 +91,30 @@ public class AdminBlogPostsController extends AdminBaseController {
     public String update(@PathVariable Long id, @ModelAttribute BlogPost blogPost, RedirectAttributes redirectAttributes) {
         BlogPost existingBlogPost = blogPostRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String previousFilename = existingBlogPost.getFilename();
         existingBlogPost.setTitle(blogPost.getTitle());
         existingBlogPost.setFilename(blogPost.getFilename());
         existingBlogPost.setPublishedAt(blogPost.getPublishedAt());
         blogPostRepository.save(existingBlogPost);
+        blogPostExcerptIndex.remove(previousFilename);
+        blogPostExcerptIndex.refresh(existingBlogPost.getFilename());
+        searchIndex.index(existingBlogPost);
+        relatedPostsIndex.update(existingBlogPost);
+        pageCache.evictBlogPost(previousFilename);
+        pageCache.evictBlogPost(existingBlogPost.getFilename());
         redirectAttributes.addFlashAttribute("notice", "Blog post updated successfully.");
         return "redirect:/admin/blog_posts/" + id;
     }
     
     @PostMapping("/blog_posts/{id}/delete")
     public String destroy(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        blogPostRepository.findById(id).ifPresent(blogPost -> {
+            blogPostExcerptIndex.remove(blogPost.getFilename());
+            pageCache.evictBlogPost(blogPost.getFilename());
+        });
         blogPostRepository.deleteById(id);
+        searchIndex.removeBlogPost(id);
+        relatedPostsIndex.remove(id);
         redirectAttributes.addFlashAttribute("notice", "Blog post deleted successfully.");
         return "redirect:/admin/blog_posts";
     }
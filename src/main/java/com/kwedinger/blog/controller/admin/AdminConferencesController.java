@@ -2,6 +2,7 @@ package com.kwedinger.blog.controller.admin;
 
 import com.kwedinger.blog.model.Conference;
 import com.kwedinger.blog.repository.ConferenceRepository;
+import com.kwedinger.blog.service.PageCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,27 +15,23 @@ import java.util.List;
 @Controller
 public class AdminConferencesController extends AdminBaseController {
     private final ConferenceRepository conferenceRepository;
+    private final PageCache pageCache;
     
-    public AdminConferencesController(ConferenceRepository conferenceRepository) {
+    public AdminConferencesController(ConferenceRepository conferenceRepository, PageCache pageCache) {
         this.conferenceRepository = conferenceRepository;
+        this.pageCache = pageCache;
     }
     
     @GetMapping("/conferences")
     public String index(Model model) {
-        List<Conference> conferences = conferenceRepository.findAll().stream()
-            .sorted((c1, c2) -> {
-                int titleCompare = c1.getTitle().compareToIgnoreCase(c2.getTitle());
-                if (titleCompare != 0) return titleCompare;
-                return c1.getYear().compareTo(c2.getYear());
-            })
-            .toList();
+        List<Conference> conferences = conferenceRepository.findAllWithPresentations();
         model.addAttribute("conferences", conferences);
         return "admin/conferences/index";
     }
     
     @GetMapping("/conferences/{id}")
     public String show(@PathVariable Long id, Model model) {
-        Conference conference = conferenceRepository.findById(id)
+        Conference conference = conferenceRepository.findWithPresentationsById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         model.addAttribute("conference", conference);
         return "admin/conferences/show";
@@ -49,6 +46,7 @@ public class AdminConferencesController extends AdminBaseController {
     @PostMapping("/conferences")
     public String create(@ModelAttribute Conference conference, RedirectAttributes redirectAttributes) {
         conferenceRepository.save(conference);
+        pageCache.evictPresentations();
         redirectAttributes.addFlashAttribute("notice", "Conference created successfully.");
         return "redirect:/admin/conferences/" + conference.getId();
     }
@@ -69,6 +67,7 @@ public class AdminConferencesController extends AdminBaseController {
         existingConference.setYear(conference.getYear());
         existingConference.setLink(conference.getLink());
         conferenceRepository.save(existingConference);
+        pageCache.evictPresentations();
         redirectAttributes.addFlashAttribute("notice", "Conference updated successfully.");
         return "redirect:/admin/conferences/" + id;
     }
@@ -76,6 +75,7 @@ public class AdminConferencesController extends AdminBaseController {
     @PostMapping("/conferences/{id}/delete")
     public String destroy(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         conferenceRepository.deleteById(id);
+        pageCache.evictPresentations();
         redirectAttributes.addFlashAttribute("notice", "Conference deleted successfully.");
         return "redirect:/admin/conferences";
     }
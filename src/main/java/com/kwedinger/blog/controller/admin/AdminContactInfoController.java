@@ -2,6 +2,7 @@ package com.kwedinger.blog.controller.admin;
 
 import com.kwedinger.blog.model.ContactInfo;
 import com.kwedinger.blog.service.ContactInfoService;
+import com.kwedinger.blog.service.PageCache;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +13,11 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 public class AdminContactInfoController extends AdminBaseController {
     private final ContactInfoService contactInfoService;
+    private final PageCache pageCache;
     
-    public AdminContactInfoController(ContactInfoService contactInfoService) {
+    public AdminContactInfoController(ContactInfoService contactInfoService, PageCache pageCache) {
         this.contactInfoService = contactInfoService;
+        this.pageCache = pageCache;
     }
     
     @GetMapping("/contact_info")
@@ -33,13 +36,15 @@ public class AdminContactInfoController extends AdminBaseController {
     
     @PostMapping("/contact_info")
     public String update(@ModelAttribute ContactInfo contactInfo, RedirectAttributes redirectAttributes) {
-        ContactInfo existingContactInfo = contactInfoService.getInstance();
+        ContactInfo existingContactInfo = contactInfoService.findForUpdate();
         existingContactInfo.setEmail(contactInfo.getEmail());
         existingContactInfo.setGithubUrl(contactInfo.getGithubUrl());
         existingContactInfo.setLinkedinUrl(contactInfo.getLinkedinUrl());
         existingContactInfo.setTwitterUrl(contactInfo.getTwitterUrl());
         existingContactInfo.setUntappedUrl(contactInfo.getUntappedUrl());
         contactInfoService.save(existingContactInfo);
+        // Bio and contact info appear in the shared header/footer
+        pageCache.evictAll();
         redirectAttributes.addFlashAttribute("notice", "Contact info updated successfully.");
         return "redirect:/admin/contact_info";
     }
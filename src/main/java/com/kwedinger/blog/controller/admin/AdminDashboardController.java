@@ -1,31 +1,33 @@
 package com.kwedinger.blog.controller.admin;
 
-import com.kwedinger.blog.repository.BlogPostRepository;
-import com.kwedinger.blog.repository.ConferenceRepository;
-import com.kwedinger.blog.repository.PresentationRepository;
+import com.kwedinger.blog.config.ServerTimingFilter;
+import com.kwedinger.blog.service.AdminDashboardService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 public class AdminDashboardController extends AdminBaseController {
-    private final BlogPostRepository blogPostRepository;
-    private final PresentationRepository presentationRepository;
-    private final ConferenceRepository conferenceRepository;
+    private final AdminDashboardService adminDashboardService;
+    private final ServerTimingFilter serverTimingFilter;
     
-    public AdminDashboardController(BlogPostRepository blogPostRepository,
-                                   PresentationRepository presentationRepository,
-                                   ConferenceRepository conferenceRepository) {
-        this.blogPostRepository = blogPostRepository;
-        this.presentationRepository = presentationRepository;
-        this.conferenceRepository = conferenceRepository;
+    public AdminDashboardController(AdminDashboardService adminDashboardService,
+                                    ServerTimingFilter serverTimingFilter) {
+        this.adminDashboardService = adminDashboardService;
+        this.serverTimingFilter = serverTimingFilter;
     }
     
     @GetMapping({"", "/"})
     public String index(Model model) {
-        model.addAttribute("blogPostsCount", blogPostRepository.count());
-        model.addAttribute("presentationsCount", presentationRepository.count());
-        model.addAttribute("conferencesCount", conferenceRepository.count());
+        model.addAllAttributes(adminDashboardService.attributes());
         return "admin/dashboard/index";
     }
+    
+    @PostMapping("/server-timing")
+    public String serverTiming(@RequestParam boolean enabled) {
+        serverTimingFilter.setEnabled(enabled);
+        return "redirect:/admin";
+    }
 }
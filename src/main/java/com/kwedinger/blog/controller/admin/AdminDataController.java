@@ -0,0 +1,68 @@
+package com.kwedinger.blog.controller.admin;
+
+import com.kwedinger.blog.service.AdminDashboardService;
+import com.kwedinger.blog.service.BulkDataService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+public class AdminDataController extends AdminBaseController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    private final BulkDataService bulkDataService;
+    private final AdminDashboardService adminDashboardService;
+    
+    public AdminDataController(BulkDataService bulkDataService, AdminDashboardService adminDashboardService) {
+        this.bulkDataService = bulkDataService;
+        this.adminDashboardService = adminDashboardService;
+    }
+    
+    @GetMapping("/data/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("blog-export.ndjson").build().toString())
+            .body(bulkDataService::export);
+    }
+    
+    // A rejected file renders the dashboard with a 400 and the offending NDJSON line instead of redirecting
+    @PostMapping("/data/import")
+    public String importData(@RequestParam("file") MultipartFile file,
+                             RedirectAttributes redirectAttributes,
+                             Model model,
+                             HttpServletResponse response) throws IOException {
+        if (file.isEmpty()) {
+            return badRequest("Choose an NDJSON file to import.", model, response);
+        }
+        try (InputStream in = file.getInputStream()) {
+            BulkDataService.Result result = bulkDataService.importFrom(in);
+            redirectAttributes.addFlashAttribute("notice", String.format("Imported %d rows in %d ms (%d rows/sec).",
+                result.rows(), result.elapsedMillis(), result.rowsPerSecond()));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Import failed: " + e.getMessage(), model, response);
+        }
+        return "redirect:/admin";
+    }
+    
+    private String badRequest(String alert, Model model, HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        model.addAllAttributes(adminDashboardService.attributes());
+        model.addAttribute("alert", alert);
+        return "admin/dashboard/index";
+    }
+}
@@ -4,6 +4,9 @@ import com.kwedinger.blog.model.Presentation;
 import com.kwedinger.blog.repository.ConferenceRepository;
 import com.kwedinger.blog.repository.PresentationRepository;
 import com.kwedinger.blog.service.FileService;
+import com.kwedinger.blog.service.PageCache;
+import com.kwedinger.blog.service.PresentationService;
+import com.kwedinger.blog.service.SearchIndex;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,29 +19,36 @@ import java.util.List;
 @Controller
 public class AdminPresentationsController extends AdminBaseController {
     private final PresentationRepository presentationRepository;
+    private final PresentationService presentationService;
     private final ConferenceRepository conferenceRepository;
     private final FileService fileService;
+    private final PageCache pageCache;
+    private final SearchIndex searchIndex;
     
     public AdminPresentationsController(PresentationRepository presentationRepository,
+                                       PresentationService presentationService,
                                        ConferenceRepository conferenceRepository,
-                                       FileService fileService) {
+                                       FileService fileService,
+                                       PageCache pageCache,
+                                       SearchIndex searchIndex) {
         this.presentationRepository = presentationRepository;
+        this.presentationService = presentationService;
         this.conferenceRepository = conferenceRepository;
         this.fileService = fileService;
+        this.pageCache = pageCache;
+        this.searchIndex = searchIndex;
     }
     
     @GetMapping("/presentations")
     public String index(Model model) {
-        List<Presentation> presentations = presentationRepository.findAll().stream()
-            .sorted((p1, p2) -> p1.getTitle().compareToIgnoreCase(p2.getTitle()))
-            .toList();
+        List<Presentation> presentations = presentationRepository.findAllWithConferences();
         model.addAttribute("presentations", presentations);
         return "admin/presentations/index";
     }
     
     @GetMapping("/presentations/{id}")
     public String show(@PathVariable Long id, Model model) {
-        Presentation presentation = presentationRepository.findById(id)
+        Presentation presentation = presentationRepository.findWithConferencesById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         model.addAttribute("presentation", presentation);
         return "admin/presentations/show";
@@ -56,21 +66,16 @@ public class AdminPresentationsController extends AdminBaseController {
     public String create(@ModelAttribute Presentation presentation,
                         @RequestParam(required = false) List<Long> conferenceIds,
                         RedirectAttributes redirectAttributes) {
-        if (conferenceIds != null) {
-            presentation.setConferences(conferenceIds.stream()
-                .map(conferenceRepository::findById)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList());
-        }
-        presentationRepository.save(presentation);
+        presentation = presentationService.create(presentation, conferenceIds);
+        searchIndex.index(presentation);
+        pageCache.evictPresentations();
         redirectAttributes.addFlashAttribute("notice", "Presentation created successfully.");
         return "redirect:/admin/presentations/" + presentation.getId();
     }
     
     @GetMapping("/presentations/{id}/edit")
     public String edit(@PathVariable Long id, Model model) {
-        Presentation presentation = presentationRepository.findById(id)
+        Presentation presentation = presentationRepository.findWithConferencesById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         model.addAttribute("presentation", presentation);
         model.addAttribute("availableFiles", fileService.getAvailablePresentationFiles());
@@ -83,22 +88,10 @@ public class AdminPresentationsController extends AdminBaseController {
                         @ModelAttribute Presentation presentation,
                         @RequestParam(required = false) List<Long> conferenceIds,
                         RedirectAttributes redirectAttributes) {
-        Presentation existingPresentation = presentationRepository.findById(id)
+        Presentation updated = presentationService.update(id, presentation, conferenceIds)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        existingPresentation.setTitle(presentation.getTitle());
-        existingPresentation.setAbstractText(presentation.getAbstractText());
-        existingPresentation.setSlidesUrl(presentation.getSlidesUrl());
-        existingPresentation.setGithubUrl(presentation.getGithubUrl());
-        if (conferenceIds != null) {
-            existingPresentation.setConferences(conferenceIds.stream()
-                .map(conferenceRepository::findById)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList());
-        } else {
-            existingPresentation.setConferences(List.of());
-        }
-        presentationRepository.save(existingPresentation);
+        searchIndex.index(updated);
+        pageCache.evictPresentations();
         redirectAttributes.addFlashAttribute("notice", "Presentation updated successfully.");
         return "redirect:/admin/presentations/" + id;
     }
@@ -106,6 +99,8 @@ public class AdminPresentationsController extends AdminBaseController {
     @PostMapping("/presentations/{id}/delete")
     public String destroy(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         presentationRepository.deleteById(id);
+        searchIndex.removePresentation(id);
+        pageCache.evictPresentations();
         redirectAttributes.addFlashAttribute("notice", "Presentation deleted successfully.");
         return "redirect:/admin/presentations";
     }
@@ -10,13 +10,29 @@ public class LocalDateConverter implements AttributeConverter<LocalDate, String>
     
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
     
+    private final TimestampStorage timestampStorage;
+    
+    public LocalDateConverter(TimestampStorage timestampStorage) {
+        this.timestampStorage = timestampStorage;
+    }
+    
     @Override
     public String convertToDatabaseColumn(LocalDate localDate) {
-        return localDate == null ? null : localDate.format(FORMATTER);
+        if (localDate == null) {
+            return null;
+        }
+        return timestampStorage.writesEpoch() ? Long.toString(localDate.toEpochDay()) : localDate.format(FORMATTER);
     }
     
     @Override
     public LocalDate convertToEntityAttribute(String dbData) {
-        return dbData == null || dbData.isEmpty() ? null : LocalDate.parse(dbData, FORMATTER);
+        if (dbData == null || dbData.isEmpty()) {
+            return null;
+        }
+        // Epoch days once published_at has moved to INTEGER storage
+        if (TimestampStorage.isEpochValue(dbData)) {
+            return LocalDate.ofEpochDay(Long.parseLong(dbData));
+        }
+        return LocalDate.parse(dbData, FORMATTER);
     }
 }
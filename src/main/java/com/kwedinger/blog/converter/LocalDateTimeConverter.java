@@ -4,6 +4,8 @@ import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -12,34 +14,97 @@ import java.time.format.DateTimeParseException;
 public class LocalDateTimeConverter implements AttributeConverter<LocalDateTime, String> {
     
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final int NANO_DIGITS = 9;
+    
+    private final TimestampStorage timestampStorage;
+    
+    public LocalDateTimeConverter(TimestampStorage timestampStorage) {
+        this.timestampStorage = timestampStorage;
+    }
     
     @Override
     public String convertToDatabaseColumn(LocalDateTime localDateTime) {
-        return localDateTime == null ? null : localDateTime.format(FORMATTER);
+        if (localDateTime == null) {
+            return null;
+        }
+        if (timestampStorage.writesEpoch()) {
+            return Long.toString(localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return localDateTime.format(FORMATTER);
     }
     
+    /**
+     * Reads ISO ({@code 2024-05-01T14:30:15.123456}), SQLite's space-separated form and epoch millis.
+     * The format is picked by looking at the characters, so none of them costs an exception.
+     */
     @Override
     public LocalDateTime convertToEntityAttribute(String dbData) {
         if (dbData == null || dbData.isEmpty()) {
             return null;
         }
+        if (TimestampStorage.isEpochValue(dbData)) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(dbData)), ZoneId.systemDefault());
+        }
+        LocalDateTime parsed = parseIsoLocalDateTime(dbData);
+        if (parsed != null) {
+            return parsed;
+        }
         
-        // Try parsing as ISO format first
+        // Anything the fast path does not recognise gets the full parser
         try {
-            return LocalDateTime.parse(dbData, FORMATTER);
+            return LocalDateTime.parse(dbData.replace(' ', 'T'), FORMATTER);
         } catch (DateTimeParseException e) {
-            // If that fails, try parsing as Unix timestamp (milliseconds)
-            try {
-                long timestamp = Long.parseLong(dbData);
-                return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
-            } catch (NumberFormatException nfe) {
-                // If both fail, try ISO format with space separator (common SQLite format)
-                try {
-                    return LocalDateTime.parse(dbData.replace(' ', 'T'));
-                } catch (DateTimeParseException ex) {
-                    throw new IllegalArgumentException("Unable to parse date: " + dbData, ex);
+            throw new IllegalArgumentException("Unable to parse date: " + dbData, e);
+        }
+    }
+    
+    // yyyy-MM-dd('T'|' ')HH:mm[:ss[.fraction]], or null if the value is not in exactly that shape
+    private static LocalDateTime parseIsoLocalDateTime(String value) {
+        int length = value.length();
+        if (length < 16 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || (value.charAt(10) != 'T' && value.charAt(10) != ' ') || value.charAt(13) != ':') {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        int hour = digits(value, 11, 13);
+        int minute = digits(value, 14, 16);
+        int second = 0;
+        int nanos = 0;
+        if (length > 16) {
+            if (length < 19 || value.charAt(16) != ':') {
+                return null;
+            }
+            second = digits(value, 17, 19);
+            if (length > 19) {
+                if (value.charAt(19) != '.' || length == 20 || length > 20 + NANO_DIGITS) {
+                    return null;
                 }
+                nanos = digits(value, 20, length);
+                for (int i = length - 20; i < NANO_DIGITS && nanos >= 0; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59 || nanos < 0
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+    
+    // Value of the decimal digits in [start, end), or -1 if any character is not a digit
+    private static int digits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
             }
+            result = result * 10 + (c - '0');
         }
+        return result;
     }
 }
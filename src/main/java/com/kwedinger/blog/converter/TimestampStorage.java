@@ -0,0 +1,38 @@
+package com.kwedinger.blog.converter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chooses how {@link LocalDateTimeConverter} and {@link LocalDateConverter} write values: ISO text (the
+ * default) or epoch integers once the {@code epoch-timestamps} profile has migrated the columns. Reads
+ * accept both, so rows written before the switch still load.
+ * <p>
+ * Hibernate creates the converters through Spring's bean container, which injects this bean while the
+ * entity manager factory is built, so each application context uses its own setting.
+ */
+@Component
+public class TimestampStorage {
+    private final boolean epoch;
+    
+    public TimestampStorage(@Value("${blog.timestamps.epoch-storage:false}") boolean epoch) {
+        this.epoch = epoch;
+    }
+    
+    public boolean writesEpoch() {
+        return epoch;
+    }
+    
+    /**
+     * True for an all-digit value, i.e. epoch millis or epoch days rather than ISO text.
+     */
+    static boolean isEpochValue(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+}
@@ -0,0 +1,9 @@
+package com.kwedinger.blog.model;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of a blog post shown on the public index, selected without hydrating the entity.
+ */
+public record BlogPostSummary(Long id, String title, String filename, LocalDate publishedAt) {
+}
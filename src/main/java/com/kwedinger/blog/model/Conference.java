@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "conferences", uniqueConstraints = @UniqueConstraint(columnNames = {"title", "year"}))
 @Data
 @NoArgsConstructor
@@ -34,6 +38,7 @@ public class Conference {
     @Column(name = "updated_at", nullable = false, columnDefinition = "TEXT")
     private LocalDateTime updatedAt;
     
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "conference", cascade = {CascadeType.ALL}, orphanRemoval = true)
     private List<ConferencePresentation> conferencePresentations = new ArrayList<>();
     
@@ -0,0 +1,7 @@
+package com.kwedinger.blog.model;
+
+/**
+ * A conference a presentation was given at, as listed on the public presentations page.
+ */
+public record ConferenceSummary(Long presentationId, String title, Integer year, String link) {
+}
@@ -4,13 +4,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "presentations")
 @Data
 @NoArgsConstructor
@@ -38,6 +44,7 @@ public class Presentation {
     @Column(name = "updated_at", nullable = false, columnDefinition = "TEXT")
     private LocalDateTime updatedAt;
     
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "presentation", cascade = {CascadeType.ALL}, orphanRemoval = true)
     private List<ConferencePresentation> conferencePresentations = new ArrayList<>();
     
@@ -67,22 +74,28 @@ public class Presentation {
     }
     
     /**
-     * Helper method to set conferences by creating ConferencePresentation entities.
+     * Helper method to set conferences by syncing ConferencePresentation entities.
+     * Links to conferences that stay are kept as-is; only removed links are deleted
+     * (via orphan removal) and only new ones inserted.
      */
     public void setConferences(List<Conference> conferences) {
         if (conferencePresentations == null) {
             conferencePresentations = new ArrayList<>();
         }
-        // Clear existing associations
-        conferencePresentations.clear();
-        // Create new associations
+        Map<Long, Conference> requested = new LinkedHashMap<>();
         if (conferences != null) {
             for (Conference conference : conferences) {
-                ConferencePresentation cp = new ConferencePresentation();
-                cp.setPresentation(this);
-                cp.setConference(conference);
-                conferencePresentations.add(cp);
+                requested.put(conference.getId(), conference);
             }
         }
+        // Keep existing links that are still requested (and drop duplicates), remove the rest
+        conferencePresentations.removeIf(cp -> requested.remove(cp.getConference().getId()) == null);
+        // Whatever is left in the map is not linked yet
+        for (Conference conference : requested.values()) {
+            ConferencePresentation cp = new ConferencePresentation();
+            cp.setPresentation(this);
+            cp.setConference(conference);
+            conferencePresentations.add(cp);
+        }
     }
 }
@@ -0,0 +1,12 @@
+package com.kwedinger.blog.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row counts and latest update times of the tables behind the public presentations page, read in one
+ * query to build its validators.
+ */
+public record PresentationListingVersion(Long presentations, LocalDateTime presentationsUpdatedAt,
+                                         Long conferences, LocalDateTime conferencesUpdatedAt,
+                                         Long conferencePresentations, LocalDateTime conferencePresentationsUpdatedAt) {
+}
@@ -0,0 +1,19 @@
+package com.kwedinger.blog.model;
+
+import java.util.List;
+
+/**
+ * The columns of a presentation shown on the public presentations page, plus the conferences it was given at.
+ */
+public record PresentationSummary(Long id, String title, String abstractText, String slidesUrl, String githubUrl,
+                                  List<ConferenceSummary> conferences) {
+    
+    // Used by the JPQL constructor expression; conferences are attached afterwards
+    public PresentationSummary(Long id, String title, String abstractText, String slidesUrl, String githubUrl) {
+        this(id, title, abstractText, slidesUrl, githubUrl, List.of());
+    }
+    
+    public PresentationSummary withConferences(List<ConferenceSummary> conferences) {
+        return new PresentationSummary(id, title, abstractText, slidesUrl, githubUrl, conferences);
+    }
+}
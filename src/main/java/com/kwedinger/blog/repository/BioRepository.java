@@ -3,10 +3,27 @@ package com.kwedinger.blog.repository;
 import com.kwedinger.blog.model.Bio;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface BioRepository extends JpaRepository<Bio, Long> {
     Optional<Bio> findFirstByOrderByIdAsc();
+    
+    /**
+     * The singleton row, inserted empty if missing. One write transaction, so two first requests
+     * cannot both insert it.
+     */
+    @Transactional
+    default Bio findOrCreate() {
+        return findFirstByOrderByIdAsc().orElseGet(() -> {
+            Bio bio = new Bio();
+            bio.setName("");
+            bio.setBriefBio("");
+            bio.setContent("");
+            return save(bio);
+        });
+    }
 }
@@ -1,21 +1,62 @@
 package com.kwedinger.blog.repository;
 
 import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.model.BlogPostSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+    String SUMMARY = "new com.kwedinger.blog.model.BlogPostSummary(b.id, b.title, b.filename, b.publishedAt)";
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<BlogPost> findByFilename(String filename);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT b FROM BlogPost b WHERE b.publishedAt IS NOT NULL AND b.publishedAt <= :date ORDER BY b.publishedAt DESC")
     List<BlogPost> findPublishedRecent(@Param("date") LocalDate date);
     
     List<BlogPost> findByPublishedAtIsNotNullAndPublishedAtLessThanEqualOrderByPublishedAtDesc(LocalDate date);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<BlogPost> findAllByOrderByCreatedAtDesc();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MAX(b.updatedAt) FROM BlogPost b")
+    Optional<LocalDateTime> findMaxUpdatedAt();
+    
+    // Keyset pages over (published_at, id), served by index_blog_posts_on_published_at_and_id.
+    // The redundant publishedAt bound lets SQLite seek straight to the cursor instead of scanning past newer rows.
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT " + SUMMARY + " FROM BlogPost b WHERE b.publishedAt IS NOT NULL AND b.publishedAt <= :date " +
+           "ORDER BY b.publishedAt DESC, b.id DESC")
+    List<BlogPostSummary> findPublishedFirstPage(@Param("date") LocalDate date, Limit limit);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT " + SUMMARY + " FROM BlogPost b WHERE b.publishedAt IS NOT NULL AND b.publishedAt <= :date " +
+           "AND b.publishedAt <= :publishedAt AND (b.publishedAt < :publishedAt OR b.id < :id) " +
+           "ORDER BY b.publishedAt DESC, b.id DESC")
+    List<BlogPostSummary> findPublishedBefore(@Param("date") LocalDate date, @Param("publishedAt") LocalDate publishedAt,
+                                       @Param("id") Long id, Limit limit);
+    
+    // Ascending so the rows nearest the cursor come first; callers reverse the result
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT " + SUMMARY + " FROM BlogPost b WHERE b.publishedAt IS NOT NULL AND b.publishedAt <= :date " +
+           "AND b.publishedAt >= :publishedAt AND (b.publishedAt > :publishedAt OR b.id > :id) " +
+           "ORDER BY b.publishedAt ASC, b.id ASC")
+    List<BlogPostSummary> findPublishedAfter(@Param("date") LocalDate date, @Param("publishedAt") LocalDate publishedAt,
+                                      @Param("id") Long id, Limit limit);
 }
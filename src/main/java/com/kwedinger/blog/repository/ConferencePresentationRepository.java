@@ -3,7 +3,9 @@ package com.kwedinger.blog.repository;
 import com.kwedinger.blog.model.ConferencePresentation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ConferencePresentationRepository extends JpaRepository<ConferencePresentation, Long> {
 }
@@ -1,12 +1,48 @@
 package com.kwedinger.blog.repository;
 
 import com.kwedinger.blog.model.Conference;
+import jakarta.persistence.QueryHint;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ConferenceRepository extends JpaRepository<Conference, Long> {
     Optional<Conference> findByTitleAndYear(String title, Integer year);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Conference> findAll();
+    
+    // Sorted by SQLite using index_conferences_on_title_nocase_and_year
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Conference c ORDER BY collate(c.title as nocase), c.year")
+    List<Conference> findAllOrderByTitleAndYear();
+    
+    /**
+     * Conferences with their presentation links loaded inside the read-only transaction, for the admin
+     * list that counts them after it has ended.
+     */
+    default List<Conference> findAllWithPresentations() {
+        List<Conference> conferences = findAllOrderByTitleAndYear();
+        conferences.forEach(conference -> Hibernate.initialize(conference.getConferencePresentations()));
+        return conferences;
+    }
+    
+    /**
+     * A conference with its presentations loaded, for admin views that render after the transaction.
+     */
+    default Optional<Conference> findWithPresentationsById(Long id) {
+        Optional<Conference> conference = findById(id);
+        conference.ifPresent(c -> c.getPresentations().forEach(Hibernate::initialize));
+        return conference;
+    }
 }
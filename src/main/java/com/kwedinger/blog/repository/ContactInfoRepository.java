@@ -3,10 +3,25 @@ package com.kwedinger.blog.repository;
 import com.kwedinger.blog.model.ContactInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ContactInfoRepository extends JpaRepository<ContactInfo, Long> {
     Optional<ContactInfo> findFirstByOrderByIdAsc();
+    
+    /**
+     * The singleton row, inserted empty if missing. One write transaction, so two first requests
+     * cannot both insert it.
+     */
+    @Transactional
+    default ContactInfo findOrCreate() {
+        return findFirstByOrderByIdAsc().orElseGet(() -> {
+            ContactInfo contactInfo = new ContactInfo();
+            contactInfo.setEmail("");
+            return save(contactInfo);
+        });
+    }
 }
@@ -1,21 +1,89 @@
 package com.kwedinger.blog.repository;
 
+import com.kwedinger.blog.model.ConferenceSummary;
 import com.kwedinger.blog.model.Presentation;
+import com.kwedinger.blog.model.PresentationListingVersion;
+import com.kwedinger.blog.model.PresentationSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
+@Transactional(readOnly = true)
 public interface PresentationRepository extends JpaRepository<Presentation, Long> {
     
     @EntityGraph(attributePaths = {"conferencePresentations", "conferencePresentations.conference"})
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Override
     List<Presentation> findAll();
     
+    // Sorted by SQLite using index_presentations_on_title_nocase
+    @EntityGraph(attributePaths = {"conferencePresentations", "conferencePresentations.conference"})
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM Presentation p ORDER BY collate(p.title as nocase)")
+    List<Presentation> findAllOrderByTitle();
+    
     @EntityGraph(attributePaths = {"conferencePresentations", "conferencePresentations.conference"})
     @Override
     Optional<Presentation> findById(Long id);
+    
+    // One round trip for the presentations page validators instead of a count and a max per table
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.kwedinger.blog.model.PresentationListingVersion(" +
+           "(SELECT COUNT(p) FROM Presentation p), (SELECT MAX(p.updatedAt) FROM Presentation p), " +
+           "(SELECT COUNT(c) FROM Conference c), (SELECT MAX(c.updatedAt) FROM Conference c), " +
+           "(SELECT COUNT(cp) FROM ConferencePresentation cp), (SELECT MAX(cp.updatedAt) FROM ConferencePresentation cp))")
+    PresentationListingVersion findListingVersion();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.kwedinger.blog.model.PresentationSummary(p.id, p.title, p.abstractText, p.slidesUrl, p.githubUrl) " +
+           "FROM Presentation p ORDER BY collate(p.title as nocase)")
+    List<PresentationSummary> findAllSummaryRows();
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.kwedinger.blog.model.ConferenceSummary(cp.presentation.id, c.title, c.year, c.link) " +
+           "FROM ConferencePresentation cp JOIN cp.conference c ORDER BY cp.id")
+    List<ConferenceSummary> findAllConferenceSummaries();
+    
+    /**
+     * Presentations for the public listing in two flat queries, without loading entities,
+     * timestamps or the conference_presentations collection.
+     */
+    default List<PresentationSummary> findAllSummaries() {
+        Map<Long, List<ConferenceSummary>> conferences = findAllConferenceSummaries().stream()
+            .collect(Collectors.groupingBy(ConferenceSummary::presentationId));
+        return findAllSummaryRows().stream()
+            .map(p -> p.withConferences(conferences.getOrDefault(p.id(), List.of())))
+            .toList();
+    }
+    
+    /**
+     * Presentations with their conferences loaded inside the read-only transaction, for admin views
+     * that render after it has ended.
+     */
+    default List<Presentation> findAllWithConferences() {
+        List<Presentation> presentations = findAllOrderByTitle();
+        presentations.forEach(presentation -> presentation.getConferences().forEach(Hibernate::initialize));
+        return presentations;
+    }
+    
+    /**
+     * A presentation with its conferences loaded, for admin views that render after the transaction.
+     */
+    default Optional<Presentation> findWithConferencesById(Long id) {
+        Optional<Presentation> presentation = findById(id);
+        presentation.ifPresent(p -> p.getConferences().forEach(Hibernate::initialize));
+        return presentation;
+    }
 }
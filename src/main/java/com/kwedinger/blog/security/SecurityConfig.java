@@ -54,7 +54,9 @@ public class SecurityConfig {
                                 "/download.svg", "/robots.txt").permitAll()
                 // Public routes
                 .requestMatchers("/", "/blog", "/blog/**", "/presentations", "/about", 
-                                "/session/new", "/session", "/logout", "/up").permitAll()
+                                "/search", "/session/new", "/session", "/logout", "/up").permitAll()
+                // Actuator endpoints are only served on the management port, which is not routed publicly
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 // Admin routes require authentication
                 .requestMatchers("/admin/**").authenticated()
                 // All other routes require authentication
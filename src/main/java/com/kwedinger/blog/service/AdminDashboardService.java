@@ -0,0 +1,46 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.config.ServerTimingFilter;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import com.kwedinger.blog.repository.ConferenceRepository;
+import com.kwedinger.blog.repository.PresentationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Model attributes of the admin dashboard: content counts, second-level cache statistics and the
+ * Server-Timing switch. Shared by the dashboard and the data import, which re-renders the dashboard
+ * when it rejects a file.
+ */
+@Service
+public class AdminDashboardService {
+    private final BlogPostRepository blogPostRepository;
+    private final PresentationRepository presentationRepository;
+    private final ConferenceRepository conferenceRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ServerTimingFilter serverTimingFilter;
+    
+    public AdminDashboardService(BlogPostRepository blogPostRepository,
+                                 PresentationRepository presentationRepository,
+                                 ConferenceRepository conferenceRepository,
+                                 EntityManagerFactory entityManagerFactory,
+                                 ServerTimingFilter serverTimingFilter) {
+        this.blogPostRepository = blogPostRepository;
+        this.presentationRepository = presentationRepository;
+        this.conferenceRepository = conferenceRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.serverTimingFilter = serverTimingFilter;
+    }
+    
+    public Map<String, Object> attributes() {
+        return Map.of(
+            "blogPostsCount", blogPostRepository.count(),
+            "presentationsCount", presentationRepository.count(),
+            "conferencesCount", conferenceRepository.count(),
+            "cacheStatistics", entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+            "serverTimingEnabled", serverTimingFilter.isEnabled());
+    }
+}
@@ -3,35 +3,48 @@ package com.kwedinger.blog.service;
 import com.kwedinger.blog.model.Bio;
 import com.kwedinger.blog.repository.BioRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class BioService {
     private final BioRepository bioRepository;
     
+    // Rendered on every page, so the singleton is held in memory and replaced on save
+    private final AtomicReference<Bio> instance = new AtomicReference<>();
+    
     public BioService(BioRepository bioRepository) {
         this.bioRepository = bioRepository;
     }
     
-    @Transactional
+    /**
+     * Returns the shared cached instance, a detached copy that no persistence context manages.
+     * Treat it as read-only; use {@link #findForUpdate()} to edit.
+     */
     public Bio getInstance() {
-        Optional<Bio> existing = bioRepository.findFirstByOrderByIdAsc();
-        if (existing.isPresent()) {
-            return existing.get();
+        Bio cached = instance.get();
+        if (cached != null) {
+            return cached;
         }
-        
-        // Create new instance if none exists
-        Bio bio = new Bio();
-        bio.setName("");
-        bio.setBriefBio("");
-        bio.setContent("");
-        return bioRepository.save(bio);
+        Bio loaded = copyOf(bioRepository.findOrCreate());
+        return instance.compareAndSet(null, loaded) ? loaded : instance.get();
+    }
+    
+    /**
+     * Loads a fresh copy from the database, creating the singleton if none exists. Never the cached instance.
+     */
+    public Bio findForUpdate() {
+        return bioRepository.findOrCreate();
     }
     
-    @Transactional
     public Bio save(Bio bio) {
-        return bioRepository.save(bio);
+        // Repository save commits before the cached instance is swapped
+        Bio saved = bioRepository.save(bio);
+        instance.set(copyOf(saved));
+        return saved;
+    }
+    
+    private static Bio copyOf(Bio bio) {
+        return new Bio(bio.getId(), bio.getName(), bio.getBriefBio(), bio.getContent(), bio.getCreatedAt(), bio.getUpdatedAt());
     }
 }
@@ -0,0 +1,72 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of blog post excerpts so listing pages never read markdown files per request.
+ * Built on startup and refreshed when a post is saved or its file changes.
+ */
+@Service
+public class BlogPostExcerptIndex {
+    private static final Logger logger = LoggerFactory.getLogger(BlogPostExcerptIndex.class);
+    public static final int DEFAULT_WORDS = 50;
+    
+    private final BlogPostRepository blogPostRepository;
+    private final BlogPostFileReader blogPostFileReader;
+    private final Map<String, String> excerpts = new ConcurrentHashMap<>();
+    
+    public BlogPostExcerptIndex(BlogPostRepository blogPostRepository, BlogPostFileReader blogPostFileReader) {
+        this.blogPostRepository = blogPostRepository;
+        this.blogPostFileReader = blogPostFileReader;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        excerpts.clear();
+        for (BlogPost blogPost : blogPostRepository.findAll()) {
+            refresh(blogPost.getFilename());
+        }
+        logger.info("Indexed excerpts for {} blog posts", excerpts.size());
+    }
+    
+    public String excerpt(String filename, int words) {
+        if (filename == null) {
+            return "";
+        }
+        if (words != DEFAULT_WORDS) {
+            return blogPostFileReader.excerpt(filename, words);
+        }
+        // Posts added after startup are indexed on first use
+        return excerpts.computeIfAbsent(filename, f -> blogPostFileReader.excerpt(f, DEFAULT_WORDS));
+    }
+    
+    @EventListener
+    public void onBlogPostFileChanged(BlogPostFileChangedEvent event) {
+        if (excerpts.containsKey(event.filename())) {
+            refresh(event.filename());
+        }
+    }
+    
+    public void refresh(String filename) {
+        if (filename == null) {
+            return;
+        }
+        excerpts.put(filename, blogPostFileReader.excerpt(filename, DEFAULT_WORDS));
+    }
+    
+    public void remove(String filename) {
+        if (filename == null) {
+            return;
+        }
+        excerpts.remove(filename);
+    }
+}
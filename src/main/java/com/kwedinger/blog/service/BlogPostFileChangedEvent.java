@@ -0,0 +1,7 @@
+package com.kwedinger.blog.service;
+
+/**
+ * Published when a markdown file in the blog posts directory is created, modified or deleted.
+ */
+public record BlogPostFileChangedEvent(String filename) {
+}
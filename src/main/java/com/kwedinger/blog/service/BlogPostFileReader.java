@@ -1,63 +1,78 @@
 package com.kwedinger.blog.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kwedinger.blog.util.MarkdownExcerptExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 public class BlogPostFileReader {
     private static final Logger logger = LoggerFactory.getLogger(BlogPostFileReader.class);
-    private static final String BLOG_POSTS_DIR = "static/blog_posts";
     
+    private final FileService fileService;
+    private final Cache<String, DecodedFile> decodedFiles;
+    
+    public BlogPostFileReader(FileService fileService,
+                              @Value("${blog.markdown.decoded-cache-size:200}") int decodedCacheSize) {
+        this.fileService = fileService;
+        this.decodedFiles = Caffeine.newBuilder()
+            .maximumSize(decodedCacheSize)
+            .build();
+    }
+    
+    /**
+     * Returns the markdown text, decoded once per file version (size and modification time from the catalog).
+     * Markdown is read straight into a string rather than through a mapping, so the bounded cache of
+     * recently read posts is the only copy held.
+     */
     public String readContent(String filename) {
+        Optional<FileCatalog.Entry> entry = fileService.getBlogPostFile(filename);
+        if (entry.isEmpty()) {
+            logger.warn("Blog post file not found: {}", filename);
+            return null;
+        }
+        FileCatalog.Entry file = entry.get();
+        DecodedFile decoded = decodedFiles.getIfPresent(filename);
+        if (decoded != null && decoded.size() == file.size() && decoded.lastModified() == file.lastModified()) {
+            return decoded.content();
+        }
         try {
-            ClassPathResource resource = new ClassPathResource(BLOG_POSTS_DIR + "/" + filename);
-            if (!resource.exists()) {
-                logger.warn("Blog post file not found: {}", filename);
-                return null;
-            }
-            return Files.readString(Paths.get(resource.getURI()));
+            String content = Files.readString(file.path());
+            decodedFiles.put(filename, new DecodedFile(content, file.size(), file.lastModified()));
+            return content;
         } catch (IOException e) {
             logger.error("Error reading blog post file {}: {}", filename, e.getMessage());
             return null;
         }
     }
     
+    @EventListener
+    public void onBlogPostFileChanged(BlogPostFileChangedEvent event) {
+        decodedFiles.invalidate(event.filename());
+    }
+    
+    public long lastModified(String filename) {
+        return fileService.getBlogPostFile(filename)
+            .map(FileCatalog.Entry::lastModified)
+            .orElse(0L);
+    }
+    
     public String excerpt(String filename, int words) {
         String content = readContent(filename);
         if (content == null || content.isBlank()) {
             return "";
         }
-        
-        // Remove markdown headers and code blocks for excerpt
-        String text = content
-            .replaceAll("^#+\\s+", "") // Remove headers
-            .replaceAll("```[\\s\\S]*?```", "") // Remove code blocks
-            .replaceAll("`[^`]+`", "") // Remove inline code
-            .replaceAll("\\*\\*([^*]+)\\*\\*", "$1") // Remove bold (**text**)
-            .replaceAll("\\*([^*]+)\\*", "$1") // Remove italic (*text*)
-            .replaceAll("\\[([^\\]]+)\\]\\([^\\)]+\\)", "$1") // Convert links to text
-            .replaceAll("!\\[[^\\]]*\\]\\([^\\)]+\\)", "") // Remove images
-            .strip();
-        
-        // Split into words and take first N words
-        String[] wordArray = text.split("\\s+");
-        String[] excerptWords = Arrays.stream(wordArray)
-            .limit(words)
-            .toArray(String[]::new);
-        
-        if (wordArray.length > words) {
-            return String.join(" ", excerptWords) + "...";
-        } else {
-            return String.join(" ", excerptWords);
-        }
+        return MarkdownExcerptExtractor.extract(content, words);
+    }
+    
+    private record DecodedFile(String content, long size, long lastModified) {
     }
 }
@@ -0,0 +1,110 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPostSummary;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pages through published blog posts with keyset cursors on (published_at, id), so every page
+ * costs one indexed seek plus {@code pageSize} rows no matter how deep into the archive it is.
+ */
+@Service
+public class BlogPostPageService {
+    private final BlogPostRepository blogPostRepository;
+    private final int pageSize;
+    
+    public BlogPostPageService(BlogPostRepository blogPostRepository,
+                               @Value("${blog.index.page-size:10}") int pageSize) {
+        this.blogPostRepository = blogPostRepository;
+        this.pageSize = pageSize;
+    }
+    
+    public Page firstPage() {
+        List<BlogPostSummary> posts = blogPostRepository.findPublishedFirstPage(LocalDate.now(), Limit.of(pageSize + 1));
+        return olderPage(posts, false);
+    }
+    
+    /**
+     * Posts published before the cursor (the "next" link).
+     */
+    public Page before(Cursor cursor) {
+        List<BlogPostSummary> posts = blogPostRepository.findPublishedBefore(LocalDate.now(),
+            cursor.publishedAt(), cursor.id(), Limit.of(pageSize + 1));
+        return olderPage(posts, true);
+    }
+    
+    /**
+     * Posts published after the cursor (the "previous" link).
+     */
+    public Page after(Cursor cursor) {
+        List<BlogPostSummary> posts = new ArrayList<>(blogPostRepository.findPublishedAfter(LocalDate.now(),
+            cursor.publishedAt(), cursor.id(), Limit.of(pageSize + 1)));
+        boolean hasNewer = posts.size() > pageSize;
+        if (hasNewer) {
+            posts.removeLast();
+        }
+        Collections.reverse(posts);
+        if (posts.isEmpty()) {
+            // Nothing newer than the cursor any more; show the newest page instead
+            return firstPage();
+        }
+        return new Page(posts,
+            hasNewer ? Cursor.of(posts.getFirst()).toString() : null,
+            Cursor.of(posts.getLast()).toString());
+    }
+    
+    private Page olderPage(List<BlogPostSummary> fetched, boolean hasNewer) {
+        boolean hasOlder = fetched.size() > pageSize;
+        List<BlogPostSummary> posts = hasOlder ? fetched.subList(0, pageSize) : fetched;
+        return new Page(posts,
+            hasNewer && !posts.isEmpty() ? Cursor.of(posts.getFirst()).toString() : null,
+            hasOlder ? Cursor.of(posts.getLast()).toString() : null);
+    }
+    
+    /**
+     * One page of posts, newest first, with the cursors for the neighbouring pages (null at either end).
+     */
+    public record Page(List<BlogPostSummary> posts, String previousCursor, String nextCursor) {
+    }
+    
+    /**
+     * Position in the (published_at, id) ordering, serialized as {@code 2024-05-01_42} in page links.
+     */
+    public record Cursor(LocalDate publishedAt, long id) {
+        private static final char SEPARATOR = '_';
+        
+        static Cursor of(BlogPostSummary blogPost) {
+            return new Cursor(blogPost.publishedAt(), blogPost.id());
+        }
+        
+        public static Optional<Cursor> parse(String value) {
+            if (value == null) {
+                return Optional.empty();
+            }
+            int separator = value.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new Cursor(LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return publishedAt.toString() + SEPARATOR + id;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.kwedinger.blog.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs an NDJSON import or export at startup when {@code blog.bulk.import} or {@code blog.bulk.export}
+ * names a file. Used by the importData / exportData Gradle tasks, which start the app without a web server.
+ */
+@Component
+public class BulkDataRunner implements ApplicationRunner {
+    private final BulkDataService bulkDataService;
+    private final RelatedPostsIndex relatedPostsIndex;
+    private final String importFile;
+    private final String exportFile;
+    
+    public BulkDataRunner(BulkDataService bulkDataService,
+                          RelatedPostsIndex relatedPostsIndex,
+                          @Value("${blog.bulk.import:}") String importFile,
+                          @Value("${blog.bulk.export:}") String exportFile) {
+        this.bulkDataService = bulkDataService;
+        this.relatedPostsIndex = relatedPostsIndex;
+        this.importFile = importFile;
+        this.exportFile = exportFile;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InterruptedException {
+        if (!importFile.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(importFile))) {
+                bulkDataService.importFrom(in);
+            }
+            // The import queues a related posts rebuild on a daemon thread; store it before the process exits
+            relatedPostsIndex.awaitPending();
+        }
+        if (!exportFile.isBlank()) {
+            try (OutputStream out = Files.newOutputStream(Path.of(exportFile))) {
+                bulkDataService.export(out);
+            }
+        }
+    }
+}
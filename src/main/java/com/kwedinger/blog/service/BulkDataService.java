@@ -0,0 +1,320 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.converter.LocalDateConverter;
+import com.kwedinger.blog.converter.LocalDateTimeConverter;
+import com.kwedinger.blog.converter.TimestampStorage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams blog posts, presentations, conferences and their links to and from NDJSON, one row per line
+ * tagged with a {@code type}. Rows go through plain JDBC so memory stays constant regardless of size:
+ * export reads with a row callback, import upserts by id in batched transactions.
+ * <p>
+ * Import bypasses Hibernate, so dates and timestamps are rewritten through the converters in the form the
+ * database stores (ISO text or epoch values), whichever form the export was taken in. The second-level cache,
+ * page cache and excerpt index are reset afterwards.
+ */
+@Service
+public class BulkDataService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkDataService.class);
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final JsonMapper jsonMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PageCache pageCache;
+    private final BlogPostExcerptIndex blogPostExcerptIndex;
+    private final SearchIndex searchIndex;
+    private final RelatedPostsIndex relatedPostsIndex;
+    private final int batchSize;
+    private final LocalDateTimeConverter timestampConverter;
+    private final LocalDateConverter dateConverter;
+    
+    public BulkDataService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           JsonMapper jsonMapper,
+                           EntityManagerFactory entityManagerFactory,
+                           PageCache pageCache,
+                           BlogPostExcerptIndex blogPostExcerptIndex,
+                           SearchIndex searchIndex,
+                           RelatedPostsIndex relatedPostsIndex,
+                           TimestampStorage timestampStorage,
+                           @Value("${blog.bulk.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.pageCache = pageCache;
+        this.blogPostExcerptIndex = blogPostExcerptIndex;
+        this.searchIndex = searchIndex;
+        this.relatedPostsIndex = relatedPostsIndex;
+        this.timestampConverter = new LocalDateTimeConverter(timestampStorage);
+        this.dateConverter = new LocalDateConverter(timestampStorage);
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Writes every row as NDJSON. Links are written last so an import of the output never
+     * references a presentation or conference it has not seen yet.
+     */
+    public Result export(OutputStream out) {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = readTransaction.execute(status -> {
+            long count = 0;
+            for (Table table : Table.values()) {
+                count += exportTable(table, writer);
+            }
+            return count;
+        });
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Result result = new Result(rows, elapsedMillis(start));
+        logger.info("Exported {} rows in {} ms ({} rows/sec)", result.rows(), result.elapsedMillis(), result.rowsPerSecond());
+        return result;
+    }
+    
+    /**
+     * Upserts every NDJSON row by id. Batches that committed before a malformed line stay committed.
+     *
+     * @throws IllegalArgumentException if a line is not valid JSON, has an unknown type or an unparseable date,
+     *         or violates a constraint, such as a new id with a blog post filename or conference title and year
+     *         that exists
+     */
+    public Result importFrom(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Map<Table, List<Row>> pending = new EnumMap<>(Table.class);
+        long rows = 0;
+        int buffered = 0;
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> row = parse(line, lineNumber);
+                Table table = Table.forType(row.get("type"));
+                if (table == null) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unknown type " + row.get("type"));
+                }
+                pending.computeIfAbsent(table, t -> new ArrayList<>()).add(new Row(lineNumber, values(table, row, lineNumber)));
+                rows++;
+                if (++buffered >= batchSize) {
+                    flush(pending);
+                    buffered = 0;
+                }
+            }
+            flush(pending);
+        } finally {
+            resetCaches();
+        }
+        
+        Result result = new Result(rows, elapsedMillis(start));
+        logger.info("Imported {} rows in {} ms ({} rows/sec)", result.rows(), result.elapsedMillis(), result.rowsPerSecond());
+        return result;
+    }
+    
+    private long exportTable(Table table, Writer writer) {
+        long[] count = {0};
+        jdbcTemplate.query(table.selectSql(), rs -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("type", table.type);
+            for (String column : table.columns) {
+                row.put(column, rs.getObject(column));
+            }
+            try {
+                writer.write(jsonMapper.writeValueAsString(row));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+    
+    private Map<String, Object> parse(String line, long lineNumber) {
+        try {
+            return jsonMapper.readValue(line, ROW_TYPE);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getOriginalMessage(), e);
+        }
+    }
+    
+    private Object[] values(Table table, Map<String, Object> row, long lineNumber) {
+        String now = timestampConverter.convertToDatabaseColumn(LocalDateTime.now());
+        Object[] values = new Object[table.columns.length];
+        for (int i = 0; i < values.length; i++) {
+            String column = table.columns[i];
+            Object value = row.get(column);
+            values[i] = switch (column) {
+                case "created_at", "updated_at" -> value == null ? now : stored(column, value, lineNumber);
+                case "published_at" -> value == null ? null : stored(column, value, lineNumber);
+                default -> value;
+            };
+        }
+        return values;
+    }
+    
+    // Raw ISO text in an INTEGER column sorts above every epoch value, so it would never compare as published
+    private String stored(String column, Object value, long lineNumber) {
+        try {
+            if (column.equals("published_at")) {
+                return dateConverter.convertToDatabaseColumn(dateConverter.convertToEntityAttribute(value.toString()));
+            }
+            return timestampConverter.convertToDatabaseColumn(timestampConverter.convertToEntityAttribute(value.toString()));
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": invalid " + column + " " + value, e);
+        }
+    }
+    
+    private void flush(Map<Table, List<Row>> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                // EnumMap iterates in declaration order, so parents are written before links
+                pending.forEach((table, batch) ->
+                    jdbcTemplate.batchUpdate(table.upsertSql(), batch.stream().map(Row::values).toList()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The batch rolled back; replay it row by row, rolled back again, to find the offending line
+            writeTransaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                pending.forEach((table, batch) -> {
+                    String sql = table.upsertSql();
+                    batch.forEach(row -> upsert(sql, row));
+                });
+            });
+            throw new IllegalArgumentException("Lines up to " + lastLine(pending) + ": " + conflict(e), e);
+        }
+        pending.clear();
+    }
+    
+    private void upsert(String sql, Row row) {
+        try {
+            jdbcTemplate.update(sql, row.values());
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Line " + row.line() + ": " + conflict(e), e);
+        }
+    }
+    
+    private static long lastLine(Map<Table, List<Row>> pending) {
+        return pending.values().stream().flatMap(List::stream).mapToLong(Row::line).max().orElse(0);
+    }
+    
+    private static String conflict(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause().getMessage();
+    }
+    
+    private void resetCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        pageCache.evictAll();
+        blogPostExcerptIndex.rebuild();
+        searchIndex.rebuild();
+        relatedPostsIndex.rebuild();
+    }
+    
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+    
+    public record Result(long rows, long elapsedMillis) {
+        public long rowsPerSecond() {
+            return elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows;
+        }
+    }
+    
+    // A parsed row and the NDJSON line it came from, kept to report constraint violations
+    private record Row(long line, Object[] values) {
+    }
+    
+    private enum Table {
+        CONFERENCE("conference", "conferences",
+            "id", "title", "year", "link", "created_at", "updated_at"),
+        PRESENTATION("presentation", "presentations",
+            "id", "title", "abstract", "slides_url", "github_url", "created_at", "updated_at"),
+        BLOG_POST("blog_post", "blog_posts",
+            "id", "title", "filename", "published_at", "created_at", "updated_at"),
+        CONFERENCE_PRESENTATION("conference_presentation", "conference_presentations",
+            "id", "conference_id", "presentation_id", "created_at", "updated_at");
+        
+        private final String type;
+        private final String table;
+        private final String[] columns;
+        
+        Table(String type, String table, String... columns) {
+            this.type = type;
+            this.table = table;
+            this.columns = columns;
+        }
+        
+        static Table forType(Object type) {
+            for (Table table : values()) {
+                if (table.type.equals(type)) {
+                    return table;
+                }
+            }
+            return null;
+        }
+        
+        String selectSql() {
+            return "SELECT " + String.join(", ", columns) + " FROM " + table + " ORDER BY id";
+        }
+        
+        // A null id inserts a new row; an existing id is updated in place
+        String upsertSql() {
+            String placeholders = Arrays.stream(columns).map(c -> "?").collect(Collectors.joining(", "));
+            String updates = Arrays.stream(columns)
+                .filter(c -> !c.equals("id"))
+                .map(c -> c + " = excluded." + c)
+                .collect(Collectors.joining(", "));
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ") " +
+                "ON CONFLICT(id) DO UPDATE SET " + updates;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.model.BlogPostSummary;
+import com.kwedinger.blog.model.PresentationListingVersion;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import com.kwedinger.blog.repository.PresentationRepository;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Builds ETag / Last-Modified validators for public pages from entity timestamps and
+ * markdown file modification times, so unchanged pages can be answered with a 304
+ * before any markdown is read or template rendered. ETags are weak because they identify the page
+ * content, not one encoding of its bytes.
+ */
+@Service
+public class ConditionalGetService {
+    private final BioService bioService;
+    private final ContactInfoService contactInfoService;
+    private final BlogPostFileReader blogPostFileReader;
+    private final BlogPostRepository blogPostRepository;
+    private final PresentationRepository presentationRepository;
+    private final RelatedPostsIndex relatedPostsIndex;
+    
+    public ConditionalGetService(BioService bioService,
+                                 ContactInfoService contactInfoService,
+                                 BlogPostFileReader blogPostFileReader,
+                                 BlogPostRepository blogPostRepository,
+                                 PresentationRepository presentationRepository,
+                                 RelatedPostsIndex relatedPostsIndex) {
+        this.bioService = bioService;
+        this.contactInfoService = contactInfoService;
+        this.blogPostFileReader = blogPostFileReader;
+        this.blogPostRepository = blogPostRepository;
+        this.presentationRepository = presentationRepository;
+        this.relatedPostsIndex = relatedPostsIndex;
+    }
+    
+    public PageVersion forBlogPost(BlogPost blogPost) {
+        PageVersion.Builder version = layoutVersion("post")
+            .add(blogPost.getId())
+            .add(blogPost.getUpdatedAt())
+            .addMillis(blogPostFileReader.lastModified(blogPost.getFilename()));
+        // Recomputed in the background without touching this post's timestamps
+        for (BlogPostSummary related : relatedPostsIndex.relatedTo(blogPost.getId())) {
+            version.add(related);
+        }
+        return version.build();
+    }
+    
+    public PageVersion forBlogIndex(BlogPostPageService.Page page) {
+        PageVersion.Builder version = layoutVersion("blog")
+            .add(page.previousCursor())
+            .add(page.nextCursor())
+            .add(page.posts().size())
+            // Summaries carry no timestamps, so any post edit changes the index validators
+            .add(blogPostRepository.findMaxUpdatedAt().orElse(null));
+        for (BlogPostSummary blogPost : page.posts()) {
+            version.add(blogPost.id())
+                .addMillis(blogPostFileReader.lastModified(blogPost.filename()));
+        }
+        return version.build();
+    }
+    
+    public PageVersion forPresentations() {
+        PresentationListingVersion listing = presentationRepository.findListingVersion();
+        return layoutVersion("presentations")
+            .add(listing.presentations())
+            .add(listing.presentationsUpdatedAt())
+            .add(listing.conferences())
+            .add(listing.conferencesUpdatedAt())
+            .add(listing.conferencePresentations())
+            .add(listing.conferencePresentationsUpdatedAt())
+            .build();
+    }
+    
+    public PageVersion forAbout() {
+        return layoutVersion("about").build();
+    }
+    
+    /**
+     * Applies the validators to the response and returns true if the client's copy is current,
+     * in which case a 304 has been prepared and the caller should return without rendering.
+     */
+    public boolean checkNotModified(ServletWebRequest webRequest, PageVersion version) {
+        HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            // Public pages may be stored by clients but must be revalidated
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return webRequest.checkNotModified(version.etag(), version.lastModified());
+    }
+    
+    // Bio and contact info render in the shared header and footer of every page
+    private PageVersion.Builder layoutVersion(String page) {
+        return new PageVersion.Builder()
+            .add(page)
+            .add(bioService.getInstance().getUpdatedAt())
+            .add(contactInfoService.getInstance().getUpdatedAt());
+    }
+    
+    public record PageVersion(String etag, long lastModified) {
+        
+        static class Builder {
+            private final StringBuilder source = new StringBuilder();
+            private long lastModified;
+            
+            Builder add(Object value) {
+                source.append(value).append('|');
+                return this;
+            }
+            
+            Builder add(LocalDateTime timestamp) {
+                if (timestamp != null) {
+                    addMillis(timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                } else {
+                    source.append("null|");
+                }
+                return this;
+            }
+            
+            Builder addMillis(long millis) {
+                source.append(millis).append('|');
+                lastModified = Math.max(lastModified, millis);
+                return this;
+            }
+            
+            PageVersion build() {
+                try {
+                    byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+                    // Weak: the page cache serves the same ETag for the gzip and identity bodies
+                    String etag = "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+                    return new PageVersion(etag, lastModified > 0 ? lastModified : -1);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("SHA-256 not available", e);
+                }
+            }
+        }
+    }
+}
@@ -3,33 +3,50 @@ package com.kwedinger.blog.service;
 import com.kwedinger.blog.model.ContactInfo;
 import com.kwedinger.blog.repository.ContactInfoRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class ContactInfoService {
     private final ContactInfoRepository contactInfoRepository;
     
+    // Rendered on every page, so the singleton is held in memory and replaced on save
+    private final AtomicReference<ContactInfo> instance = new AtomicReference<>();
+    
     public ContactInfoService(ContactInfoRepository contactInfoRepository) {
         this.contactInfoRepository = contactInfoRepository;
     }
     
-    @Transactional
+    /**
+     * Returns the shared cached instance, a detached copy that no persistence context manages.
+     * Treat it as read-only; use {@link #findForUpdate()} to edit.
+     */
     public ContactInfo getInstance() {
-        Optional<ContactInfo> existing = contactInfoRepository.findFirstByOrderByIdAsc();
-        if (existing.isPresent()) {
-            return existing.get();
+        ContactInfo cached = instance.get();
+        if (cached != null) {
+            return cached;
         }
-        
-        // Create new instance if none exists
-        ContactInfo contactInfo = new ContactInfo();
-        contactInfo.setEmail("");
-        return contactInfoRepository.save(contactInfo);
+        ContactInfo loaded = copyOf(contactInfoRepository.findOrCreate());
+        return instance.compareAndSet(null, loaded) ? loaded : instance.get();
+    }
+    
+    /**
+     * Loads a fresh copy from the database, creating the singleton if none exists. Never the cached instance.
+     */
+    public ContactInfo findForUpdate() {
+        return contactInfoRepository.findOrCreate();
     }
     
-    @Transactional
     public ContactInfo save(ContactInfo contactInfo) {
-        return contactInfoRepository.save(contactInfo);
+        // Repository save commits before the cached instance is swapped
+        ContactInfo saved = contactInfoRepository.save(contactInfo);
+        instance.set(copyOf(saved));
+        return saved;
+    }
+    
+    private static ContactInfo copyOf(ContactInfo contactInfo) {
+        return new ContactInfo(contactInfo.getId(), contactInfo.getEmail(), contactInfo.getGithubUrl(),
+            contactInfo.getLinkedinUrl(), contactInfo.getTwitterUrl(), contactInfo.getUntappedUrl(),
+            contactInfo.getCreatedAt(), contactInfo.getUpdatedAt());
     }
 }
@@ -0,0 +1,120 @@
+package com.kwedinger.blog.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Location of blog markdown and presentation decks on the file system, plus read-only
+ * memory-mapped views of those files shared across requests.
+ * <p>
+ * Set {@code blog.content-store.dir} to a directory containing {@code blog_posts/} and
+ * {@code presentations/} to manage content outside the application. When unset, the
+ * directories under {@code static/} are used if the classpath is exploded on disk.
+ */
+@Service
+public class ContentStore {
+    private static final Logger logger = LoggerFactory.getLogger(ContentStore.class);
+    private static final String BLOG_POSTS = "blog_posts";
+    private static final String PRESENTATIONS = "presentations";
+    
+    private final Path blogPostsDirectory;
+    private final Path presentationsDirectory;
+    private final Map<Path, MappedFile> mappedFiles = new ConcurrentHashMap<>();
+    
+    public ContentStore(@Value("${blog.content-store.dir:}") String directory) {
+        if (directory != null && !directory.isBlank()) {
+            Path root = Paths.get(directory).toAbsolutePath().normalize();
+            this.blogPostsDirectory = existingDirectory(root.resolve(BLOG_POSTS));
+            this.presentationsDirectory = existingDirectory(root.resolve(PRESENTATIONS));
+            logger.info("Serving content from {}", root);
+        } else {
+            this.blogPostsDirectory = classpathDirectory("static/" + BLOG_POSTS);
+            this.presentationsDirectory = classpathDirectory("static/" + PRESENTATIONS);
+        }
+    }
+    
+    public Path getBlogPostsDirectory() {
+        return blogPostsDirectory;
+    }
+    
+    public Path getPresentationsDirectory() {
+        return presentationsDirectory;
+    }
+    
+    /**
+     * Returns a read-only view of the file's contents. The underlying mapping is created once per
+     * file version and shared by all callers. Reading a mapping past the end of a file that was
+     * truncated after it was mapped faults the JVM, so the size on disk is checked first and the
+     * file is mapped again when it differs.
+     */
+    public ByteBuffer read(FileCatalog.Entry entry) throws IOException {
+        long size = Files.size(entry.path());
+        MappedFile mapped = mappedFiles.get(entry.path());
+        if (mapped == null || mapped.size() != size || mapped.lastModified() != entry.lastModified()) {
+            mapped = map(entry);
+            mappedFiles.put(entry.path(), mapped);
+        }
+        return mapped.buffer().duplicate();
+    }
+    
+    /**
+     * Drops the mapping of a file that changed or was removed, so its pages are released now rather
+     * than when the same path is next read.
+     */
+    public void evict(Path path) {
+        mappedFiles.remove(path);
+    }
+    
+    public MappedContentResource resource(FileCatalog.Entry entry) throws IOException {
+        return new MappedContentResource(entry.filename(), entry.path(), read(entry), entry.lastModified());
+    }
+    
+    private static MappedFile map(FileCatalog.Entry entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(entry.path(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedFile(buffer.asReadOnlyBuffer(), size, entry.lastModified());
+        }
+    }
+    
+    private static Path existingDirectory(Path path) {
+        if (!Files.isDirectory(path)) {
+            logger.warn("Content directory {} does not exist", path);
+            return null;
+        }
+        return path;
+    }
+    
+    private static Path classpathDirectory(String location) {
+        try {
+            ClassPathResource resource = new ClassPathResource(location);
+            if (!resource.exists()) {
+                return null;
+            }
+            return Paths.get(resource.getURI());
+        } catch (IOException | FileSystemNotFoundException e) {
+            logger.warn("Content directory {} is not on the file system, set blog.content-store.dir: {}",
+                location, e.getMessage());
+            return null;
+        }
+    }
+    
+    private record MappedFile(ByteBuffer buffer, long size, long lastModified) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.kwedinger.blog.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory listing of the files with a given extension in one directory, including each file's
+ * size, modification time and content hash. Kept current by {@link FileService}'s watcher.
+ */
+public class FileCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(FileCatalog.class);
+    
+    private final Path directory;
+    private final String extension;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile List<String> sortedFilenames = List.of();
+    
+    public FileCatalog(Path directory, String extension) {
+        this.directory = directory;
+        this.extension = extension;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    public boolean contains(String filename) {
+        return filename != null && entries.containsKey(filename);
+    }
+    
+    public Optional<Entry> get(String filename) {
+        return filename == null ? Optional.empty() : Optional.ofNullable(entries.get(filename));
+    }
+    
+    public List<String> filenames() {
+        return sortedFilenames;
+    }
+    
+    /**
+     * Re-reads the whole directory and returns the names of files that were added, changed or removed.
+     */
+    public synchronized Set<String> rescan() {
+        Set<String> changed = new HashSet<>();
+        if (directory == null) {
+            return changed;
+        }
+        
+        Set<String> present = new HashSet<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(extension))
+                .forEach(present::add);
+        } catch (IOException e) {
+            logger.error("Error listing {}: {}", directory, e.getMessage());
+            return changed;
+        }
+        
+        for (String filename : present) {
+            if (update(filename)) {
+                changed.add(filename);
+            }
+        }
+        for (String filename : Set.copyOf(entries.keySet())) {
+            if (!present.contains(filename)) {
+                entries.remove(filename);
+                changed.add(filename);
+            }
+        }
+        updateSnapshot();
+        return changed;
+    }
+    
+    /**
+     * Re-reads a single file and returns true if its catalog entry changed.
+     */
+    public synchronized boolean refresh(String filename) {
+        if (directory == null || !filename.endsWith(extension)) {
+            return false;
+        }
+        boolean changed = update(filename);
+        if (changed) {
+            updateSnapshot();
+        }
+        return changed;
+    }
+    
+    private boolean update(String filename) {
+        Path path = directory.resolve(filename);
+        if (!Files.isRegularFile(path)) {
+            return entries.remove(filename) != null;
+        }
+        try {
+            long size = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            Entry existing = entries.get(filename);
+            if (existing != null && existing.size() == size && existing.lastModified() == lastModified) {
+                return false;
+            }
+            Entry entry = new Entry(filename, path, size, lastModified, hash(path));
+            entries.put(filename, entry);
+            return existing == null || !existing.contentHash().equals(entry.contentHash());
+        } catch (IOException e) {
+            logger.error("Error reading {}: {}", path, e.getMessage());
+            return entries.remove(filename) != null;
+        }
+    }
+    
+    private void updateSnapshot() {
+        sortedFilenames = entries.keySet().stream().sorted().toList();
+    }
+    
+    private static String hash(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public record Entry(String filename, Path path, long size, long lastModified, String contentHash) {
+    }
+}
@@ -1,55 +1,154 @@
 package com.kwedinger.blog.service;
 
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-public class FileService {
-    private static final String BLOG_POSTS_DIR = "static/blog_posts";
-    private static final String PRESENTATIONS_DIR = "static/presentations";
+public class FileService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(FileService.class);
+    
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentStore contentStore;
+    private final FileCatalog blogPostCatalog;
+    private final FileCatalog presentationCatalog;
+    private final Map<WatchKey, FileCatalog> watchedCatalogs = new ConcurrentHashMap<>();
+    private final boolean virtualThreads;
+    private WatchService watchService;
+    
+    public FileService(ApplicationEventPublisher eventPublisher,
+                       ContentStore contentStore,
+                       @Value("${blog.file-catalog.watch:true}") boolean watch,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.eventPublisher = eventPublisher;
+        this.contentStore = contentStore;
+        this.virtualThreads = virtualThreads;
+        this.blogPostCatalog = new FileCatalog(contentStore.getBlogPostsDirectory(), ".md");
+        this.presentationCatalog = new FileCatalog(contentStore.getPresentationsDirectory(), ".pptx");
+        blogPostCatalog.rescan();
+        presentationCatalog.rescan();
+        if (watch) {
+            startWatcher();
+        }
+    }
     
     public List<String> getAvailableBlogPostFiles() {
+        return blogPostCatalog.filenames();
+    }
+    
+    public List<String> getAvailablePresentationFiles() {
+        return presentationCatalog.filenames();
+    }
+    
+    public boolean hasBlogPostFile(String filename) {
+        return blogPostCatalog.contains(filename);
+    }
+    
+    public Optional<FileCatalog.Entry> getBlogPostFile(String filename) {
+        return blogPostCatalog.get(filename);
+    }
+    
+    public boolean hasPresentationFile(String filename) {
+        return presentationCatalog.contains(filename);
+    }
+    
+    public Optional<FileCatalog.Entry> getPresentationFile(String filename) {
+        return presentationCatalog.get(filename);
+    }
+    
+    @Override
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+    
+    private void startWatcher() {
         try {
-            ClassPathResource resource = new ClassPathResource(BLOG_POSTS_DIR);
-            if (!resource.exists()) {
-                return List.of();
-            }
-            
-            Path blogPostsPath = Paths.get(resource.getURI());
-            return Files.list(blogPostsPath)
-                .filter(path -> path.toString().endsWith(".md"))
-                .map(path -> path.getFileName().toString())
-                .sorted()
-                .collect(Collectors.toList());
+            watchService = FileSystems.getDefault().newWatchService();
+            register(blogPostCatalog);
+            register(presentationCatalog);
         } catch (IOException e) {
-            return List.of();
+            logger.error("Unable to watch content directories, file catalog will not refresh: {}", e.getMessage());
+            return;
         }
+        // Virtual threads are always daemon threads
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        builder.name("file-catalog-watcher").start(this::watch);
     }
     
-    public List<String> getAvailablePresentationFiles() {
-        try {
-            ClassPathResource resource = new ClassPathResource(PRESENTATIONS_DIR);
-            if (!resource.exists()) {
-                return List.of();
+    private void register(FileCatalog catalog) throws IOException {
+        if (catalog.getDirectory() == null) {
+            return;
+        }
+        WatchKey key = catalog.getDirectory().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+        watchedCatalogs.put(key, catalog);
+    }
+    
+    private void watch() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
             }
             
-            Path presentationsPath = Paths.get(resource.getURI());
-            return Files.list(presentationsPath)
-                .filter(path -> path.toString().endsWith(".pptx"))
-                .map(path -> path.getFileName().toString())
-                .sorted()
-                .collect(Collectors.toList());
-        } catch (IOException e) {
-            return List.of();
+            FileCatalog catalog = watchedCatalogs.get(key);
+            if (catalog != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Listeners run on this thread; one failing must not stop the watcher for good
+                    try {
+                        handle(catalog, event);
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to handle content file event {} for {}", event.kind(), event.context(), e);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                watchedCatalogs.remove(key);
+            }
+        }
+    }
+    
+    private void handle(FileCatalog catalog, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            catalog.rescan().forEach(filename -> fileChanged(catalog, filename));
+        } else {
+            String filename = ((Path) event.context()).getFileName().toString();
+            if (catalog.refresh(filename)) {
+                fileChanged(catalog, filename);
+            }
+        }
+    }
+    
+    private void fileChanged(FileCatalog catalog, String filename) {
+        logger.info("Content file changed: {}", filename);
+        contentStore.evict(catalog.getDirectory().resolve(filename));
+        if (catalog == blogPostCatalog) {
+            eventPublisher.publishEvent(new BlogPostFileChangedEvent(filename));
         }
     }
 }
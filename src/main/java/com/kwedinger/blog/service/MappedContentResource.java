@@ -0,0 +1,107 @@
+package com.kwedinger.blog.service;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Spring {@link org.springframework.core.io.Resource} over a memory-mapped content file,
+ * so static content handlers stream straight from the shared mapping.
+ */
+public class MappedContentResource extends AbstractResource {
+    private final String filename;
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final long lastModified;
+    
+    public MappedContentResource(String filename, Path path, ByteBuffer buffer, long lastModified) {
+        this.filename = filename;
+        this.path = path;
+        this.buffer = buffer;
+        this.lastModified = lastModified;
+    }
+    
+    @Override
+    public boolean exists() {
+        return true;
+    }
+    
+    @Override
+    public boolean isReadable() {
+        return true;
+    }
+    
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+    
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+    
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+    
+    /**
+     * Streams the mapping. Reading past the end of a file truncated since it was mapped would fault,
+     * so a file now shorter than the mapping fails this response instead.
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (Files.size(path) < buffer.remaining()) {
+            throw new IOException("Content file " + path + " was truncated after it was mapped");
+        }
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Mapped content [" + filename + "]";
+    }
+    
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+        
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+        
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -3,25 +3,104 @@ package com.kwedinger.blog.service;
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
 @Service
 public class MarkdownService {
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("</p>\\s*(?=<p>)");
+
     private final Parser parser = Parser.builder().build();
     private final HtmlRenderer renderer = HtmlRenderer.builder().build();
-    
+
+    private final int cacheSize;
+    private final Map<String, String> renderedCache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MarkdownService(@Value("${blog.markdown.cache-size:256}") int cacheSize) {
+        this.cacheSize = cacheSize;
+        // Access-ordered map so the least recently rendered document is evicted first
+        this.renderedCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if (size() > MarkdownService.this.cacheSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
     public String renderMarkdown(String content) {
         if (content == null || content.isBlank()) {
             return "";
         }
-        
+        if (cacheSize <= 0) {
+            return render(content);
+        }
+
+        String key = hash(content);
+        synchronized (renderedCache) {
+            String cached = renderedCache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // Render outside the lock; two threads racing on the same miss just render twice
+        misses.incrementAndGet();
+        String html = render(content);
+        synchronized (renderedCache) {
+            renderedCache.put(key, html);
+        }
+        return html;
+    }
+
+    public CacheStats getCacheStats() {
+        int size;
+        synchronized (renderedCache) {
+            size = renderedCache.size();
+        }
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), size, cacheSize);
+    }
+
+    public void clearCache() {
+        synchronized (renderedCache) {
+            renderedCache.clear();
+        }
+    }
+
+    private String render(String content) {
         Node document = parser.parse(content);
         String html = renderer.render(document);
-        
+
         // Insert spacing divs between paragraphs that were separated by blank lines
         // This preserves the visual spacing of blank lines in the original markdown
-        html = html.replaceAll("</p>\\s*(?=<p>)", "</p><div class='h-4'></div>");
-        
-        return html;
+        return PARAGRAPH_BREAK.matcher(html).replaceAll("</p><div class='h-4'></div>");
+    }
+
+    private static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
     }
 }
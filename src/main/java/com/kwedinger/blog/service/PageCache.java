@@ -0,0 +1,166 @@
+package com.kwedinger.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds fully rendered public pages keyed by path (plus the page cursor parameters).
+ * Admin controllers evict the pages affected by each write. The cache is bounded, evicting the least
+ * valuable pages when full, and every entry expires at midnight because the listings only include posts
+ * published by today.
+ */
+@Service
+public class PageCache {
+    private static final String BLOG_PREFIX = "/blog/";
+    
+    private final boolean enabled;
+    private final boolean gzip;
+    private final Cache<String, CachedPage> pages;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Bumped by every eviction, so a page rendered from data read before an admin write is not cached after it
+    private final AtomicLong generation = new AtomicLong();
+    
+    public PageCache(@Value("${blog.page-cache.enabled:true}") boolean enabled,
+                     @Value("${blog.page-cache.gzip:true}") boolean gzip,
+                     @Value("${blog.page-cache.max-entries:1000}") int maxEntries) {
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.pages = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfter(new UntilMidnight())
+            .build();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public boolean isCacheablePath(String path) {
+        return path.equals("/") || path.equals("/blog") || path.equals("/presentations") || path.equals("/about")
+            || (path.startsWith(BLOG_PREFIX) && path.length() > BLOG_PREFIX.length());
+    }
+    
+    public CachedPage get(String key) {
+        CachedPage page = pages.getIfPresent(key);
+        if (page != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return page;
+    }
+    
+    /**
+     * The current eviction generation; read before rendering a page and pass it to {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    /**
+     * Caches a page unless an eviction has happened since {@code renderedGeneration} was read. The check
+     * runs after the insert, and evictions bump the generation before removing, so a page that races an
+     * eviction is either removed by it or removed here.
+     */
+    public void put(String key, long renderedGeneration, String contentType, byte[] body, String etag,
+                    long lastModified, String cacheControl) {
+        if (generation.get() != renderedGeneration) {
+            return;
+        }
+        CachedPage page = new CachedPage(contentType, body, gzip ? gzip(body) : null, etag, lastModified, cacheControl);
+        pages.put(key, page);
+        if (generation.get() != renderedGeneration) {
+            pages.asMap().remove(key, page);
+        }
+    }
+    
+    /**
+     * Evicts the blog listing and the post page for the given markdown filename.
+     */
+    public void evictBlogPost(String filename) {
+        evict("/", "/blog");
+        if (filename != null) {
+            String slug = filename.endsWith(".md") ? filename.substring(0, filename.length() - 3) : filename;
+            evict(BLOG_PREFIX + slug, BLOG_PREFIX + slug + ".md");
+        }
+    }
+    
+    @EventListener
+    public void onBlogPostFileChanged(BlogPostFileChangedEvent event) {
+        evictBlogPost(event.filename());
+    }
+    
+    public void evictPresentations() {
+        evict("/presentations");
+    }
+    
+    /**
+     * Evicts every page; used when shared layout content (bio, contact info) changes.
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+    
+    public void evict(String... paths) {
+        generation.incrementAndGet();
+        for (String path : paths) {
+            String withQuery = path + "?";
+            pages.asMap().keySet().removeIf(key -> key.equals(path) || key.startsWith(withQuery));
+        }
+    }
+    
+    public CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), pages.estimatedSize());
+    }
+    
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    public record CachedPage(String contentType, byte[] body, byte[] gzippedBody,
+                             String etag, long lastModified, String cacheControl) {
+    }
+    
+    public record CacheStats(long hits, long misses, long size) {
+    }
+    
+    private static final class UntilMidnight implements Expiry<String, CachedPage> {
+        @Override
+        public long expireAfterCreate(String key, CachedPage page, long currentTime) {
+            ZonedDateTime now = ZonedDateTime.now();
+            ZonedDateTime midnight = LocalDate.now().plusDays(1).atStartOfDay(now.getZone());
+            return Duration.between(now, midnight).toNanos();
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, CachedPage page, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, page, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, CachedPage page, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
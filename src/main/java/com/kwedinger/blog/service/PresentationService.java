@@ -0,0 +1,53 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.Conference;
+import com.kwedinger.blog.model.Presentation;
+import com.kwedinger.blog.repository.ConferenceRepository;
+import com.kwedinger.blog.repository.PresentationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Admin writes for presentations. Each save runs in one write transaction that loads the requested
+ * conferences with a single query and lets {@link Presentation#setConferences} touch only the links that changed.
+ */
+@Service
+public class PresentationService {
+    private final PresentationRepository presentationRepository;
+    private final ConferenceRepository conferenceRepository;
+    
+    public PresentationService(PresentationRepository presentationRepository,
+                               ConferenceRepository conferenceRepository) {
+        this.presentationRepository = presentationRepository;
+        this.conferenceRepository = conferenceRepository;
+    }
+    
+    @Transactional
+    public Presentation create(Presentation presentation, List<Long> conferenceIds) {
+        presentation.setConferences(findConferences(conferenceIds));
+        return presentationRepository.save(presentation);
+    }
+    
+    @Transactional
+    public Optional<Presentation> update(Long id, Presentation changes, List<Long> conferenceIds) {
+        return presentationRepository.findById(id).map(existing -> {
+            existing.setTitle(changes.getTitle());
+            existing.setAbstractText(changes.getAbstractText());
+            existing.setSlidesUrl(changes.getSlidesUrl());
+            existing.setGithubUrl(changes.getGithubUrl());
+            existing.setConferences(findConferences(conferenceIds));
+            return presentationRepository.save(existing);
+        });
+    }
+    
+    private List<Conference> findConferences(List<Long> conferenceIds) {
+        if (conferenceIds == null || conferenceIds.isEmpty()) {
+            return List.of();
+        }
+        // Unknown ids are ignored, as before
+        return conferenceRepository.findAllById(conferenceIds);
+    }
+}
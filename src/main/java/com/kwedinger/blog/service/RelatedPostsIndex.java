@@ -0,0 +1,509 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.model.BlogPostSummary;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import com.kwedinger.blog.util.IntIntHashMap;
+import com.kwedinger.blog.util.MarkdownExcerptExtractor;
+import com.kwedinger.blog.util.SparseVector;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * "Related posts" for each published blog post: the nearest neighbours by cosine similarity of TF-IDF
+ * vectors over the title and markdown text, stored in {@code related_blog_posts}.
+ * <p>
+ * All computation runs on one background thread. A full rebuild runs on startup and after bulk imports;
+ * saving, deleting or editing the file of one post only recomputes that post's list and the lists it
+ * enters or leaves. Other posts keep the IDF weights from when they were last vectorized until the next
+ * rebuild. Requests read the published lists from memory with {@link #relatedTo}.
+ */
+@Service
+public class RelatedPostsIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RelatedPostsIndex.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Title words count as this many occurrences, since a title names what the post is about
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final String INSERT_SQL =
+        "INSERT INTO related_blog_posts (blog_post_id, position, related_blog_post_id, score) VALUES (?, ?, ?, ?)";
+    private static final Set<String> STOP_WORDS = Set.of(
+        "the", "and", "for", "are", "but", "not", "you", "all", "any", "can", "had", "her", "was", "one", "our",
+        "out", "has", "have", "him", "his", "how", "its", "may", "new", "now", "see", "two", "way", "who", "did",
+        "get", "got", "let", "say", "she", "too", "use", "that", "this", "with", "from", "they", "will", "would",
+        "there", "their", "what", "about", "which", "when", "make", "like", "just", "into", "than", "then", "them",
+        "these", "some", "could", "other", "were", "been", "your", "more", "also", "very", "only", "over", "such",
+        "where", "most", "much", "each", "does", "doing", "being", "because", "while", "after", "before", "should",
+        "here", "those", "through", "even", "want", "really", "things", "thing");
+    
+    private final BlogPostRepository blogPostRepository;
+    private final BlogPostFileReader blogPostFileReader;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final PageCache pageCache;
+    private final int size;
+    private final ScheduledExecutorService worker;
+    
+    // Published results, read by requests
+    private final Map<Long, long[]> related = new ConcurrentHashMap<>();
+    private final Map<Long, BlogPostSummary> summaries = new ConcurrentHashMap<>();
+    
+    // Working state, only touched on the worker thread
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[] documentFrequency = new int[1024];
+    private final Map<Long, Document> documents = new LinkedHashMap<>();
+    private final Map<Long, Neighbours> neighbours = new HashMap<>();
+    
+    public RelatedPostsIndex(BlogPostRepository blogPostRepository,
+                             BlogPostFileReader blogPostFileReader,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             PageCache pageCache,
+                             @Value("${blog.related-posts.size:5}") int size,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.blogPostRepository = blogPostRepository;
+        this.blogPostFileReader = blogPostFileReader;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.pageCache = pageCache;
+        this.size = size;
+        // Virtual threads are always daemon threads
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        this.worker = Executors.newSingleThreadScheduledExecutor(builder.name("related-posts").factory());
+    }
+    
+    // Started before application runners so the static site renderer can wait for it
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        submit("load stored", this::loadStored);
+        rebuild();
+        scheduleRollover();
+    }
+    
+    public void rebuild() {
+        submit("rebuild", this::rebuildNow);
+    }
+    
+    public void update(BlogPost blogPost) {
+        Long id = blogPost.getId();
+        submit("update", () -> updateNow(id));
+    }
+    
+    public void remove(Long id) {
+        submit("remove", () -> removeNow(id));
+    }
+    
+    @EventListener
+    public void onBlogPostFileChanged(BlogPostFileChangedEvent event) {
+        submit("update", () -> blogPostRepository.findByFilename(event.filename())
+            .ifPresent(blogPost -> updateNow(blogPost.getId())));
+    }
+    
+    /**
+     * The related posts for a blog post, best first. Two hash lookups per entry; nothing is computed.
+     */
+    public List<BlogPostSummary> relatedTo(Long id) {
+        long[] ids = id != null ? related.get(id) : null;
+        if (ids == null) {
+            return List.of();
+        }
+        List<BlogPostSummary> posts = new ArrayList<>(ids.length);
+        for (long relatedId : ids) {
+            BlogPostSummary summary = summaries.get(relatedId);
+            if (summary != null) {
+                posts.add(summary);
+            }
+        }
+        return posts;
+    }
+    
+    /**
+     * Blocks until every update queued so far has been applied.
+     */
+    public void awaitPending() throws InterruptedException {
+        try {
+            worker.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+    
+    private void submit(String action, Runnable task) {
+        worker.execute(() -> run(action, task));
+    }
+    
+    private static void run(String action, Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to {} related posts", action, e);
+        }
+    }
+    
+    // Posts dated today become published at midnight without a save or file change to trigger an update
+    private void scheduleRollover() {
+        // A second past midnight, so LocalDate.now() has moved on when the task runs
+        LocalDateTime next = LocalDate.now().plusDays(1).atStartOfDay().plusSeconds(1);
+        long delay = Duration.between(LocalDateTime.now(), next).toMillis();
+        worker.schedule(() -> {
+            run("add newly published posts to", this::addNewlyPublished);
+            if (!worker.isShutdown()) {
+                scheduleRollover();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    private void addNewlyPublished() {
+        for (BlogPost blogPost : publishedPosts()) {
+            if (!documents.containsKey(blogPost.getId())) {
+                updateNow(blogPost.getId());
+            }
+        }
+    }
+    
+    // Serves the lists from the previous run while the rebuild computes new ones
+    private void loadStored() {
+        for (BlogPost blogPost : publishedPosts()) {
+            summaries.put(blogPost.getId(), summary(blogPost));
+        }
+        Map<Long, List<Long>> stored = new HashMap<>();
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+            "SELECT blog_post_id, related_blog_post_id FROM related_blog_posts ORDER BY blog_post_id, position",
+            rs -> {
+                stored.computeIfAbsent(rs.getLong("blog_post_id"), id -> new ArrayList<>())
+                    .add(rs.getLong("related_blog_post_id"));
+            }));
+        stored.forEach((id, ids) -> related.put(id, ids.stream().mapToLong(Long::longValue).toArray()));
+    }
+    
+    private void rebuildNow() {
+        long start = System.nanoTime();
+        List<BlogPost> blogPosts = publishedPosts();
+        termIds.clear();
+        documentFrequency = new int[1024];
+        documents.clear();
+        neighbours.clear();
+        
+        Map<Long, BlogPostSummary> currentSummaries = new HashMap<>();
+        Map<Long, IntIntHashMap> counts = new LinkedHashMap<>();
+        for (BlogPost blogPost : blogPosts) {
+            IntIntHashMap termCounts = termCounts(blogPost);
+            addDocumentFrequencies(termCounts, 1);
+            counts.put(blogPost.getId(), termCounts);
+            currentSummaries.put(blogPost.getId(), summary(blogPost));
+        }
+        counts.forEach((id, termCounts) ->
+            documents.put(id, new Document(id, termCounts, vectorize(termCounts, counts.size()))));
+        
+        // Each pair is scored once and offered to both sides
+        List<Document> all = new ArrayList<>(documents.values());
+        for (Document document : all) {
+            neighbours.put(document.id(), new Neighbours(size));
+        }
+        for (int i = 0; i < all.size(); i++) {
+            Document a = all.get(i);
+            for (int j = i + 1; j < all.size(); j++) {
+                Document b = all.get(j);
+                double score = a.vector().dot(b.vector());
+                neighbours.get(a.id()).offer(b.id(), score);
+                neighbours.get(b.id()).offer(a.id(), score);
+            }
+        }
+        
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM related_blog_posts");
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows(neighbours.keySet()));
+        });
+        summaries.putAll(currentSummaries);
+        summaries.keySet().retainAll(currentSummaries.keySet());
+        related.keySet().retainAll(neighbours.keySet());
+        for (Map.Entry<Long, Neighbours> entry : neighbours.entrySet()) {
+            long[] previous = related.put(entry.getKey(), entry.getValue().ids());
+            if (!Arrays.equals(previous, entry.getValue().ids())) {
+                pageCache.evictBlogPost(currentSummaries.get(entry.getKey()).filename());
+            }
+        }
+        logger.info("Computed related posts for {} blog posts ({} terms) in {} ms",
+            documents.size(), termIds.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private void updateNow(Long id) {
+        BlogPost blogPost = blogPostRepository.findById(id).orElse(null);
+        if (blogPost == null || !isPublished(blogPost)) {
+            removeNow(id);
+            return;
+        }
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            addDocumentFrequencies(previous.counts(), -1);
+        }
+        IntIntHashMap termCounts = termCounts(blogPost);
+        addDocumentFrequencies(termCounts, 1);
+        Document document = new Document(id, termCounts, vectorize(termCounts, documents.size() + 1));
+        documents.put(id, document);
+        summaries.put(id, summary(blogPost));
+        
+        Set<Long> affected = new HashSet<>();
+        List<Long> stale = new ArrayList<>();
+        Neighbours own = new Neighbours(size);
+        for (Document other : documents.values()) {
+            if (other.id() == id) {
+                continue;
+            }
+            double score = document.vector().dot(other.vector());
+            own.offer(other.id(), score);
+            
+            Neighbours theirs = neighbours.get(other.id());
+            boolean wasFull = theirs.isFull();
+            double lowest = theirs.lowestScore();
+            if (theirs.remove(id)) {
+                affected.add(other.id());
+                // Still above the old cut-off, so nothing outside the list can outrank it
+                if (!wasFull || score >= lowest) {
+                    theirs.offer(id, score);
+                } else {
+                    stale.add(other.id());
+                }
+            } else if (theirs.offer(id, score)) {
+                affected.add(other.id());
+            }
+        }
+        neighbours.put(id, own);
+        affected.add(id);
+        // Dropped below the cut-off: some post outside the list may now belong in it
+        for (Long staleId : stale) {
+            neighbours.put(staleId, nearest(documents.get(staleId)));
+        }
+        publish(affected);
+    }
+    
+    private void removeNow(Long id) {
+        Document previous = documents.remove(id);
+        neighbours.remove(id);
+        summaries.remove(id);
+        related.remove(id);
+        if (previous == null) {
+            return;
+        }
+        addDocumentFrequencies(previous.counts(), -1);
+        Set<Long> affected = new HashSet<>();
+        for (Map.Entry<Long, Neighbours> entry : neighbours.entrySet()) {
+            if (entry.getValue().contains(id)) {
+                affected.add(entry.getKey());
+            }
+        }
+        for (Long affectedId : affected) {
+            neighbours.put(affectedId, nearest(documents.get(affectedId)));
+        }
+        writeTransaction.executeWithoutResult(status ->
+            jdbcTemplate.update("DELETE FROM related_blog_posts WHERE blog_post_id = ?", id));
+        publish(affected);
+    }
+    
+    // Stores and publishes the lists of the given posts, and evicts their cached pages
+    private void publish(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object[]> deletes = ids.stream().map(id -> new Object[] {id}).toList();
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM related_blog_posts WHERE blog_post_id = ?", deletes);
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows(ids));
+        });
+        for (Long id : ids) {
+            related.put(id, neighbours.get(id).ids());
+            BlogPostSummary summary = summaries.get(id);
+            if (summary != null) {
+                pageCache.evictBlogPost(summary.filename());
+            }
+        }
+        // Pages that list these posts show their titles, which may have changed
+        for (Map.Entry<Long, Neighbours> entry : neighbours.entrySet()) {
+            if (!ids.contains(entry.getKey()) && entry.getValue().containsAny(ids)) {
+                pageCache.evictBlogPost(summaries.get(entry.getKey()).filename());
+            }
+        }
+    }
+    
+    private List<Object[]> rows(Collection<Long> ids) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : ids) {
+            Neighbours list = neighbours.get(id);
+            for (int position = 0; position < list.size; position++) {
+                rows.add(new Object[] {id, position, list.ids[position], list.scores[position]});
+            }
+        }
+        return rows;
+    }
+    
+    private Neighbours nearest(Document document) {
+        Neighbours list = new Neighbours(size);
+        for (Document other : documents.values()) {
+            if (other.id() != document.id()) {
+                list.offer(other.id(), document.vector().dot(other.vector()));
+            }
+        }
+        return list;
+    }
+    
+    private IntIntHashMap termCounts(BlogPost blogPost) {
+        IntIntHashMap counts = new IntIntHashMap(256);
+        addTerms(counts, blogPost.getTitle(), TITLE_WEIGHT);
+        String content = blogPostFileReader.readContent(blogPost.getFilename());
+        addTerms(counts, MarkdownExcerptExtractor.extract(content, Integer.MAX_VALUE), 1);
+        return counts;
+    }
+    
+    private void addTerms(IntIntHashMap counts, String text, int weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(token) && !isNumber(token)) {
+                counts.addTo(termIds.computeIfAbsent(token, term -> termIds.size()), weight);
+            }
+        }
+    }
+    
+    private void addDocumentFrequencies(IntIntHashMap counts, int delta) {
+        for (int term : counts.sortedKeys()) {
+            if (term >= documentFrequency.length) {
+                documentFrequency = Arrays.copyOf(documentFrequency, Math.max(term + 1, documentFrequency.length * 2));
+            }
+            documentFrequency[term] += delta;
+        }
+    }
+    
+    // Sublinear term frequency times smoothed inverse document frequency
+    private SparseVector vectorize(IntIntHashMap counts, int documentCount) {
+        return SparseVector.normalized(counts, (term, count) ->
+            (1 + Math.log(count)) * (Math.log((1.0 + documentCount) / (1 + documentFrequency[term])) + 1));
+    }
+    
+    private List<BlogPost> publishedPosts() {
+        return blogPostRepository.findPublishedRecent(LocalDate.now());
+    }
+    
+    private static boolean isPublished(BlogPost blogPost) {
+        return blogPost.getPublishedAt() != null && !blogPost.getPublishedAt().isAfter(LocalDate.now());
+    }
+    
+    private static boolean isNumber(String token) {
+        return token.chars().allMatch(Character::isDigit);
+    }
+    
+    private static BlogPostSummary summary(BlogPost blogPost) {
+        return new BlogPostSummary(blogPost.getId(), blogPost.getTitle(), blogPost.getFilename(), blogPost.getPublishedAt());
+    }
+    
+    private record Document(long id, IntIntHashMap counts, SparseVector vector) {
+    }
+    
+    /**
+     * The best scoring neighbours of one post, highest score first.
+     */
+    private static final class Neighbours {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+        
+        Neighbours(int capacity) {
+            ids = new long[capacity];
+            scores = new double[capacity];
+        }
+        
+        boolean isFull() {
+            return size == ids.length;
+        }
+        
+        double lowestScore() {
+            return size > 0 ? scores[size - 1] : 0;
+        }
+        
+        boolean contains(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        boolean containsAny(Set<Long> candidates) {
+            for (int i = 0; i < size; i++) {
+                if (candidates.contains(ids[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        // Inserts in score order if it makes the cut; returns whether the list changed
+        boolean offer(long id, double score) {
+            if (score <= 0 || ids.length == 0 || (isFull() && score <= scores[size - 1])) {
+                return false;
+            }
+            int position = isFull() ? size - 1 : size++;
+            while (position > 0 && scores[position - 1] < score) {
+                ids[position] = ids[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            ids[position] = id;
+            scores[position] = score;
+            return true;
+        }
+        
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                    System.arraycopy(scores, i + 1, scores, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
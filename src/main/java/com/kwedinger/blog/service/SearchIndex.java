@@ -0,0 +1,240 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.converter.LocalDateConverter;
+import com.kwedinger.blog.converter.TimestampStorage;
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.model.Presentation;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import com.kwedinger.blog.repository.PresentationRepository;
+import com.kwedinger.blog.util.MarkdownExcerptExtractor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SQLite FTS5 index over blog post titles and markdown bodies and presentation titles and abstracts.
+ * Rebuilt on startup and after bulk imports, and updated row by row when admin saves a post or
+ * presentation or a markdown file changes. Searches rank by BM25 with titles weighted above bodies.
+ * <p>
+ * File changes are indexed on a background thread, so the file watcher never waits on a database write.
+ */
+@Service
+public class SearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Control characters other than tabs and line breaks
+    private static final Pattern CONTROL = Pattern.compile("[\\p{Cc}&&[^\\t\\n\\r]]");
+    private static final int MAX_TERMS = 10;
+    // Control characters are stripped from the indexed text, so they mark highlights safely until escaping
+    private static final String HIGHLIGHT_START = "\u0002";
+    private static final String HIGHLIGHT_END = "\u0003";
+    // Blog posts without a markdown file have no page to link to, so they are left out like unpublished ones
+    private static final String SEARCH_SQL = """
+        SELECT search_index.rowid AS rowid,
+               highlight(search_index, 0, char(2), char(3)) AS title,
+               snippet(search_index, 1, char(2), char(3), '...', 32) AS snippet,
+               blog_posts.filename AS filename,
+               blog_posts.published_at AS published_at
+        FROM search_index
+        LEFT JOIN blog_posts ON (search_index.rowid & 1) = 0 AND blog_posts.id = search_index.rowid >> 1
+        WHERE search_index MATCH ?
+          AND ((search_index.rowid & 1) = 1
+               OR (blog_posts.published_at IS NOT NULL AND blog_posts.published_at <= ? AND blog_posts.filename IS NOT NULL))
+        ORDER BY bm25(search_index, 10.0, 1.0)
+        LIMIT ? OFFSET ?
+        """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final BlogPostRepository blogPostRepository;
+    private final PresentationRepository presentationRepository;
+    private final BlogPostFileReader blogPostFileReader;
+    private final int pageSize;
+    private final ExecutorService worker;
+    private final LocalDateConverter dateConverter;
+    
+    public SearchIndex(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       BlogPostRepository blogPostRepository,
+                       PresentationRepository presentationRepository,
+                       BlogPostFileReader blogPostFileReader,
+                       TimestampStorage timestampStorage,
+                       @Value("${blog.search.page-size:10}") int pageSize,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.blogPostRepository = blogPostRepository;
+        this.presentationRepository = presentationRepository;
+        this.blogPostFileReader = blogPostFileReader;
+        this.dateConverter = new LocalDateConverter(timestampStorage);
+        this.pageSize = pageSize;
+        // Virtual threads are always daemon threads
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        this.worker = Executors.newSingleThreadExecutor(builder.name("search-index").factory());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<BlogPost> blogPosts = blogPostRepository.findAll();
+        List<Presentation> presentations = presentationRepository.findAll();
+        // Read the markdown files before opening the write transaction
+        List<Object[]> rows = new ArrayList<>();
+        blogPosts.forEach(blogPost -> rows.add(blogPostRow(blogPost)));
+        presentations.forEach(presentation -> rows.add(presentationRow(presentation)));
+        
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM search_index");
+            jdbcTemplate.batchUpdate("INSERT INTO search_index (rowid, title, body) VALUES (?, ?, ?)", rows);
+        });
+        logger.info("Indexed {} blog posts and {} presentations for search in {} ms",
+            blogPosts.size(), presentations.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    public void index(BlogPost blogPost) {
+        replace(blogPostRow(blogPost));
+    }
+    
+    public void index(Presentation presentation) {
+        replace(presentationRow(presentation));
+    }
+    
+    public void removeBlogPost(Long id) {
+        remove(blogPostRowId(id));
+    }
+    
+    public void removePresentation(Long id) {
+        remove(presentationRowId(id));
+    }
+    
+    @EventListener
+    public void onBlogPostFileChanged(BlogPostFileChangedEvent event) {
+        worker.execute(() -> {
+            try {
+                blogPostRepository.findByFilename(event.filename()).ifPresent(this::index);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to index changed blog post file {}", event.filename(), e);
+            }
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+    
+    /**
+     * One page (1-based) of matches for the words in {@code query}, best first. The last word also
+     * matches as a prefix, so results appear while a word is still being typed.
+     */
+    public Results search(String query, int page) {
+        String match = toMatchExpression(query);
+        int pageNumber = Math.max(page, 1);
+        if (match.isEmpty()) {
+            return new Results(List.of(), pageNumber, false);
+        }
+        String today = dateConverter.convertToDatabaseColumn(LocalDate.now());
+        List<Hit> hits = readTransaction.execute(status -> jdbcTemplate.query(SEARCH_SQL, (rs, rowNum) -> {
+            long rowId = rs.getLong("rowid");
+            boolean blogPost = (rowId & 1) == 0;
+            String filename = rs.getString("filename");
+            return new Hit(
+                blogPost ? Hit.BLOG_POST : Hit.PRESENTATION,
+                highlight(rs.getString("title")),
+                highlight(rs.getString("snippet")),
+                blogPost ? "/blog/" + filename.replace(".md", "") : "/presentations#presentation-" + (rowId >> 1),
+                blogPost ? dateConverter.convertToEntityAttribute(rs.getString("published_at")) : null);
+        }, match, today, pageSize + 1, (long) (pageNumber - 1) * pageSize));
+        
+        boolean hasNext = hits.size() > pageSize;
+        return new Results(hasNext ? hits.subList(0, pageSize) : hits, pageNumber, hasNext);
+    }
+    
+    // Each word is quoted so FTS5 syntax in user input (quotes, AND/OR/NEAR, column filters) is matched literally
+    static String toMatchExpression(String query) {
+        if (query == null) {
+            return "";
+        }
+        List<String> terms = Arrays.stream(NON_WORD.split(query))
+            .filter(term -> !term.isEmpty())
+            .limit(MAX_TERMS)
+            .toList();
+        if (terms.isEmpty()) {
+            return "";
+        }
+        return terms.stream().map(term -> '"' + term + '"').collect(Collectors.joining(" ")) + "*";
+    }
+    
+    private void replace(Object[] row) {
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM search_index WHERE rowid = ?", row[0]);
+            jdbcTemplate.update("INSERT INTO search_index (rowid, title, body) VALUES (?, ?, ?)", row);
+        });
+    }
+    
+    private void remove(long rowId) {
+        writeTransaction.executeWithoutResult(status ->
+            jdbcTemplate.update("DELETE FROM search_index WHERE rowid = ?", rowId));
+    }
+    
+    private Object[] blogPostRow(BlogPost blogPost) {
+        String content = blogPost.getFilename() != null ? blogPostFileReader.readContent(blogPost.getFilename()) : null;
+        return new Object[] {blogPostRowId(blogPost.getId()), stripControl(blogPost.getTitle()),
+            stripControl(MarkdownExcerptExtractor.extract(content, Integer.MAX_VALUE))};
+    }
+    
+    private static Object[] presentationRow(Presentation presentation) {
+        return new Object[] {presentationRowId(presentation.getId()), stripControl(presentation.getTitle()),
+            stripControl(presentation.getAbstractText())};
+    }
+    
+    private static String stripControl(String text) {
+        return text == null ? null : CONTROL.matcher(text).replaceAll("");
+    }
+    
+    private static long blogPostRowId(long id) {
+        return id * 2;
+    }
+    
+    private static long presentationRowId(long id) {
+        return id * 2 + 1;
+    }
+    
+    private static String highlight(String text) {
+        if (text == null) {
+            return "";
+        }
+        return HtmlUtils.htmlEscape(text).replace(HIGHLIGHT_START, "<mark>").replace(HIGHLIGHT_END, "</mark>");
+    }
+    
+    /**
+     * A match with its title and snippet as HTML: escaped text with the matched words in {@code <mark>}.
+     */
+    public record Hit(String type, String titleHtml, String snippetHtml, String url, LocalDate publishedAt) {
+        public static final String BLOG_POST = "Blog post";
+        public static final String PRESENTATION = "Presentation";
+    }
+    
+    public record Results(List<Hit> hits, int page, boolean hasNext) {
+    }
+}
@@ -0,0 +1,349 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Pre-renders the public pages into static HTML when {@code blog.static-site.output-dir} is set, and copies
+ * the static assets next to them. {@link com.kwedinger.blog.StaticSiteApplication} then exits with
+ * {@link #getExitCode()}.
+ * <p>
+ * Pages are fetched from the running app over localhost so they go through the same controllers, templates
+ * and filters as live traffic. The ETag of each page is kept in a manifest and sent back as If-None-Match
+ * on the next run, so pages whose inputs have not changed come back 304 and are left untouched. ETags only
+ * cover the data, so the manifest also records a fingerprint of the templates, application classes and
+ * configuration, and every page is fetched again when it changes.
+ */
+@Component
+public class StaticSiteRenderer implements ApplicationRunner, ExitCodeGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(StaticSiteRenderer.class);
+    private static final String MANIFEST = ".render-manifest.properties";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final List<String> FINGERPRINT_RESOURCES = List.of(
+        "classpath*:templates/**/*.html", "classpath*:com/kwedinger/blog/**/*.class", "classpath*:application*.properties");
+    
+    private final ConfigurableApplicationContext context;
+    private final BlogPostRepository blogPostRepository;
+    private final RelatedPostsIndex relatedPostsIndex;
+    private final FileService fileService;
+    private final ContentStore contentStore;
+    private final String outputDir;
+    private final int workers;
+    private final String contextPath;
+    private final boolean virtualThreads;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final PathMatchingResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private volatile int exitCode;
+    
+    public StaticSiteRenderer(ConfigurableApplicationContext context,
+                              BlogPostRepository blogPostRepository,
+                              RelatedPostsIndex relatedPostsIndex,
+                              FileService fileService,
+                              ContentStore contentStore,
+                              @Value("${blog.static-site.output-dir:}") String outputDir,
+                              @Value("${blog.static-site.workers:0}") int workers,
+                              @Value("${server.servlet.context-path:}") String contextPath,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.context = context;
+        this.blogPostRepository = blogPostRepository;
+        this.relatedPostsIndex = relatedPostsIndex;
+        this.fileService = fileService;
+        this.contentStore = contentStore;
+        this.outputDir = outputDir;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.contextPath = contextPath;
+        this.virtualThreads = virtualThreads;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InterruptedException {
+        if (outputDir.isBlank()) {
+            return;
+        }
+        Integer port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            throw new IllegalStateException("Static site rendering needs the web server; do not run with web-application-type=none");
+        }
+        // Post pages list related posts, which are computed in the background on startup
+        relatedPostsIndex.awaitPending();
+        Result result = render(Path.of(outputDir), "http://localhost:" + port + contextPath);
+        exitCode = result.failed() == 0 ? 0 : 1;
+    }
+    
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+    
+    public Result render(Path output, String baseUrl) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Files.createDirectories(output);
+        Properties previous = loadManifest(output);
+        Properties manifest = new Properties();
+        String fingerprint = fingerprint();
+        boolean fullRender = !fingerprint.equals(previous.getProperty(FINGERPRINT));
+        if (fullRender && !previous.isEmpty()) {
+            logger.info("Templates, classes or configuration changed since the last render; fetching every page");
+        }
+        
+        List<String> pages = pages();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger unchanged = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        
+        // Virtual threads are not pooled, so the semaphore bounds how many pages are fetched at once
+        Semaphore permits = new Semaphore(workers);
+        try (ExecutorService pool = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(workers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String page : pages) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        Outcome outcome;
+                        permits.acquire();
+                        try {
+                            outcome = renderPage(output, baseUrl, page, fullRender ? null : previous.getProperty(page));
+                        } finally {
+                            permits.release();
+                        }
+                        switch (outcome.status()) {
+                            case WRITTEN -> written.incrementAndGet();
+                            case UNCHANGED -> unchanged.incrementAndGet();
+                            case FAILED -> failed.incrementAndGet();
+                        }
+                        if (outcome.etag() != null) {
+                            // Properties is synchronized
+                            manifest.setProperty(page, outcome.etag());
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        logger.error("Failed to render {}: {}", page, e.getMessage());
+                        failed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failed.incrementAndGet();
+                    logger.error("Render task failed", e.getCause());
+                }
+            }
+        }
+        
+        // Pages rendered last time that no longer exist (e.g. unpublished posts)
+        Set<String> current = new HashSet<>(pages);
+        int removed = 0;
+        for (String page : previous.stringPropertyNames()) {
+            if (page.startsWith("/") && !current.contains(page) && Files.deleteIfExists(fileFor(output, page))) {
+                removed++;
+            }
+        }
+        
+        int assets = copyAssets(output);
+        manifest.setProperty(FINGERPRINT, fingerprint);
+        saveManifest(output, manifest);
+        Result result = new Result(pages.size(), written.get(), unchanged.get(), removed, failed.get(), assets,
+            (System.nanoTime() - start) / 1_000_000);
+        logger.info("Static site: {} pages ({} written, {} unchanged, {} removed, {} failed), {} assets copied in {} ms",
+            result.pages(), result.written(), result.unchanged(), result.removed(), result.failed(),
+            result.assetsCopied(), result.elapsedMillis());
+        return result;
+    }
+    
+    private List<String> pages() {
+        List<String> pages = new ArrayList<>(List.of("/", "/presentations", "/about"));
+        for (BlogPost blogPost : blogPostRepository.findPublishedRecent(LocalDate.now())) {
+            pages.add("/blog/" + blogPost.getFilename().replace(".md", ""));
+        }
+        return pages;
+    }
+    
+    private Outcome renderPage(Path output, String baseUrl, String page, String previousEtag)
+            throws IOException, InterruptedException {
+        Path file = fileFor(output, page);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + page)).GET();
+        if (previousEtag != null && Files.exists(file)) {
+            request.header(HttpHeaders.IF_NONE_MATCH, previousEtag);
+        }
+        
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        String etag = response.headers().firstValue(HttpHeaders.ETAG).orElse(null);
+        if (response.statusCode() == 304) {
+            return new Outcome(Status.UNCHANGED, previousEtag);
+        }
+        if (response.statusCode() != 200) {
+            logger.error("Failed to render {}: HTTP {}", page, response.statusCode());
+            return new Outcome(Status.FAILED, null);
+        }
+        
+        byte[] body = response.body();
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), body)) {
+            return new Outcome(Status.UNCHANGED, etag);
+        }
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), ".render-", ".tmp");
+        Files.write(temp, body);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Outcome(Status.WRITTEN, etag);
+    }
+    
+    /**
+     * Copies what the resource handlers serve: everything under {@code static/} on the classpath, then the
+     * content store's markdown and presentation decks over it. Files whose size and modification time
+     * already match are skipped.
+     */
+    private int copyAssets(Path output) throws IOException {
+        int copied = 0;
+        for (Resource root : resourceResolver.getResources("classpath*:static/")) {
+            String rootUrl = root.getURL().toString();
+            for (Resource resource : resourceResolver.getResources(rootUrl + "**")) {
+                // Directories are not readable
+                if (resource.isReadable()) {
+                    String relative = UriUtils.decode(resource.getURL().toString().substring(rootUrl.length()),
+                        StandardCharsets.UTF_8);
+                    copied += copy(resource, output.resolve(relative)) ? 1 : 0;
+                }
+            }
+        }
+        copied += copyCatalog(output.resolve("blog_posts"), fileService.getAvailableBlogPostFiles(),
+            fileService::getBlogPostFile);
+        copied += copyCatalog(output.resolve("presentations"), fileService.getAvailablePresentationFiles(),
+            fileService::getPresentationFile);
+        return copied;
+    }
+    
+    private int copyCatalog(Path directory, List<String> filenames,
+                            Function<String, Optional<FileCatalog.Entry>> lookup) throws IOException {
+        int copied = 0;
+        for (String filename : filenames) {
+            Optional<FileCatalog.Entry> entry = lookup.apply(filename);
+            if (entry.isPresent() && copy(contentStore.resource(entry.get()), directory.resolve(filename))) {
+                copied++;
+            }
+        }
+        return copied;
+    }
+    
+    private static boolean copy(Resource source, Path target) throws IOException {
+        long lastModified = source.lastModified();
+        if (Files.exists(target) && Files.size(target) == source.contentLength()
+                && Files.getLastModifiedTime(target).toMillis() == lastModified) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try (InputStream in = source.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.setLastModifiedTime(target, FileTime.fromMillis(lastModified));
+        return true;
+    }
+    
+    // Hash of everything besides the data that shapes a page, in a stable order
+    private String fingerprint() throws IOException {
+        List<Resource> resources = new ArrayList<>();
+        for (String pattern : FINGERPRINT_RESOURCES) {
+            resources.addAll(Arrays.asList(resourceResolver.getResources(pattern)));
+        }
+        resources.sort(Comparator.comparing(Resource::getDescription));
+        MessageDigest digest = sha256();
+        for (Resource resource : resources) {
+            if (resource.isReadable()) {
+                digest.update(String.valueOf(resource.getFilename()).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    // Directory-style URLs so /blog/post is served from blog/post/index.html
+    private static Path fileFor(Path output, String page) {
+        String relative = page.equals("/") ? "" : page.substring(1);
+        return output.resolve(relative).resolve("index.html");
+    }
+    
+    private static Properties loadManifest(Path output) {
+        Properties manifest = new Properties();
+        Path file = output.resolve(MANIFEST);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return manifest;
+    }
+    
+    private static void saveManifest(Path output, Properties manifest) throws IOException {
+        try (OutputStream out = Files.newOutputStream(output.resolve(MANIFEST))) {
+            manifest.store(out, "ETags of pre-rendered pages and the fingerprint they were rendered with");
+        }
+    }
+    
+    public record Result(int pages, int written, int unchanged, int removed, int failed, int assetsCopied,
+                         long elapsedMillis) {
+    }
+    
+    private enum Status {
+        WRITTEN, UNCHANGED, FAILED
+    }
+    
+    private record Outcome(Status status, String etag) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.kwedinger.blog.util;
+
+/**
+ * Extracts a plain-text excerpt from markdown in a single pass over the characters.
+ * Strips headers, fenced and inline code, bold, italic, links (keeping the text) and images,
+ * and stops as soon as the requested number of words has been collected.
+ */
+public final class MarkdownExcerptExtractor {
+    private static final String ELLIPSIS = "...";
+    private static final String FENCE = "```";
+
+    private MarkdownExcerptExtractor() {
+    }
+
+    public static String extract(String content, int words) {
+        if (content == null || content.isBlank()) {
+            return "";
+        }
+
+        StringBuilder excerpt = new StringBuilder();
+        int length = content.length();
+        int wordCount = 0;
+        boolean inWord = false;
+
+        // Positions of closing markers for spans whose opening marker has already been skipped
+        int boldClose = -1;
+        int italicClose = -1;
+        int linkTextEnd = -1;
+        int linkUrlEnd = -1;
+
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+
+            if (i == boldClose) {
+                i += 2;
+                continue;
+            }
+            if (i == italicClose) {
+                i++;
+                continue;
+            }
+            if (i == linkTextEnd) {
+                i = linkUrlEnd + 1;
+                continue;
+            }
+
+            // Headers: leading #'s followed by whitespace at the start of a line
+            if (c == '#' && (i == 0 || content.charAt(i - 1) == '\n')) {
+                int j = i;
+                while (j < length && content.charAt(j) == '#') {
+                    j++;
+                }
+                if (j < length && isWhitespace(content.charAt(j))) {
+                    i = j;
+                    continue;
+                }
+            }
+
+            // Fenced code blocks, then inline code
+            if (c == '`') {
+                if (content.startsWith(FENCE, i)) {
+                    int fenceEnd = content.indexOf(FENCE, i + FENCE.length());
+                    if (fenceEnd >= 0) {
+                        i = fenceEnd + FENCE.length();
+                        continue;
+                    }
+                }
+                int codeEnd = content.indexOf('`', i + 1);
+                if (codeEnd > i + 1) {
+                    i = codeEnd + 1;
+                    continue;
+                }
+            }
+
+            // Bold (**text**) and italic (*text*) keep their inner text
+            if (c == '*') {
+                if (i + 1 < length && content.charAt(i + 1) == '*') {
+                    int close = content.indexOf('*', i + 2);
+                    if (close > i + 2 && close + 1 < length && content.charAt(close + 1) == '*') {
+                        boldClose = close;
+                        i += 2;
+                        continue;
+                    }
+                } else {
+                    int close = content.indexOf('*', i + 1);
+                    if (close > i + 1) {
+                        italicClose = close;
+                        i++;
+                        continue;
+                    }
+                }
+            }
+
+            // Images are dropped entirely
+            if (c == '!' && i + 1 < length && content.charAt(i + 1) == '[') {
+                int urlEnd = linkUrlEnd(content, i + 1, true);
+                if (urlEnd >= 0) {
+                    i = urlEnd + 1;
+                    continue;
+                }
+            }
+
+            // Links keep their text; a '[' inside pending link text is literal
+            if (c == '[' && i > linkTextEnd) {
+                int urlEnd = linkUrlEnd(content, i, false);
+                if (urlEnd >= 0) {
+                    linkTextEnd = content.indexOf(']', i + 1);
+                    linkUrlEnd = urlEnd;
+                    i++;
+                    continue;
+                }
+            }
+
+            if (isWhitespace(c)) {
+                inWord = false;
+                i++;
+                continue;
+            }
+
+            if (!inWord) {
+                if (wordCount == words) {
+                    return excerpt.append(ELLIPSIS).toString();
+                }
+                if (wordCount > 0) {
+                    excerpt.append(' ');
+                }
+                wordCount++;
+                inWord = true;
+            }
+            excerpt.append(c);
+            i++;
+        }
+
+        return excerpt.toString();
+    }
+
+    /**
+     * Returns the index of the closing ')' for a link or image whose '[' is at {@code open},
+     * or -1 if the text at {@code open} is not a complete [text](url).
+     */
+    private static int linkUrlEnd(String content, int open, boolean allowEmptyText) {
+        int textEnd = content.indexOf(']', open + 1);
+        if (textEnd < 0 || (!allowEmptyText && textEnd == open + 1)) {
+            return -1;
+        }
+        if (textEnd + 1 >= content.length() || content.charAt(textEnd + 1) != '(') {
+            return -1;
+        }
+        int urlEnd = content.indexOf(')', textEnd + 2);
+        return urlEnd > textEnd + 2 ? urlEnd : -1;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+}
@@ -0,0 +1,68 @@
+package com.kwedinger.blog.util;
+
+/**
+ * A sparse vector stored as ascending int indices with parallel float weights, scaled to unit length
+ * so that the dot product of two vectors is their cosine similarity.
+ */
+public final class SparseVector {
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] indices;
+    private final float[] weights;
+
+    private SparseVector(int[] indices, float[] weights) {
+        this.indices = indices;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a unit vector with one entry per key of {@code counts}, weighted by {@code weighting}.
+     * Returns {@link #EMPTY} if every weight is zero.
+     */
+    public static SparseVector normalized(IntIntHashMap counts, Weighting weighting) {
+        int[] indices = counts.sortedKeys();
+        double[] raw = new double[indices.length];
+        double sumOfSquares = 0;
+        for (int i = 0; i < indices.length; i++) {
+            raw[i] = weighting.weight(indices[i], counts.get(indices[i]));
+            sumOfSquares += raw[i] * raw[i];
+        }
+        if (sumOfSquares == 0) {
+            return EMPTY;
+        }
+        double norm = Math.sqrt(sumOfSquares);
+        float[] weights = new float[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            weights[i] = (float) (raw[i] / norm);
+        }
+        return new SparseVector(indices, weights);
+    }
+
+    public int size() {
+        return indices.length;
+    }
+
+    // Merge walk over the two sorted index arrays, O(size() + other.size())
+    public double dot(SparseVector other) {
+        double sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < indices.length && j < other.indices.length) {
+            int a = indices[i];
+            int b = other.indices[j];
+            if (a == b) {
+                sum += (double) weights[i++] * other.weights[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    @FunctionalInterface
+    public interface Weighting {
+        double weight(int index, int count);
+    }
+}
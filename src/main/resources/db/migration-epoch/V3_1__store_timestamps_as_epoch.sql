@@ -0,0 +1,194 @@
+-- Optional: applied only with the epoch-timestamps profile (spring.flyway.locations adds db/migration-epoch).
+--
+-- Moves created_at, updated_at and published_at from ISO text to INTEGER storage: epoch milliseconds for
+-- timestamps and epoch days for published_at. SQLite cannot change a column's type in place, so each table
+-- is rebuilt and its indexes recreated. Text timestamps are local times and are converted with the 'utc'
+-- modifier, matching the converters, which use the JVM's default zone. Values that are already all digits
+-- (epoch millis written by older drivers) are kept as they are.
+
+CREATE TABLE users_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    email_address TEXT NOT NULL UNIQUE,
+    password_digest TEXT NOT NULL,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL
+);
+
+INSERT INTO users_epoch (id, email_address, password_digest, created_at, updated_at)
+SELECT id,
+       email_address,
+       password_digest,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM users;
+
+DROP TABLE users;
+ALTER TABLE users_epoch RENAME TO users;
+
+CREATE TABLE sessions_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INTEGER NOT NULL,
+    user_agent TEXT,
+    ip_address TEXT,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+INSERT INTO sessions_epoch (id, user_id, user_agent, ip_address, created_at, updated_at)
+SELECT id,
+       user_id,
+       user_agent,
+       ip_address,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM sessions;
+
+DROP TABLE sessions;
+ALTER TABLE sessions_epoch RENAME TO sessions;
+
+CREATE INDEX index_sessions_on_user_id ON sessions(user_id);
+
+CREATE TABLE bio_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name TEXT,
+    brief_bio TEXT,
+    content TEXT,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL
+);
+
+INSERT INTO bio_epoch (id, name, brief_bio, content, created_at, updated_at)
+SELECT id,
+       name,
+       brief_bio,
+       content,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM bio;
+
+DROP TABLE bio;
+ALTER TABLE bio_epoch RENAME TO bio;
+
+CREATE TABLE contact_info_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    email TEXT,
+    github_url TEXT,
+    linkedin_url TEXT,
+    twitter_url TEXT,
+    untapped_url TEXT,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL
+);
+
+INSERT INTO contact_info_epoch (id, email, github_url, linkedin_url, twitter_url, untapped_url, created_at, updated_at)
+SELECT id,
+       email,
+       github_url,
+       linkedin_url,
+       twitter_url,
+       untapped_url,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM contact_info;
+
+DROP TABLE contact_info;
+ALTER TABLE contact_info_epoch RENAME TO contact_info;
+
+CREATE TABLE blog_posts_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    title TEXT,
+    filename TEXT,
+    published_at INTEGER,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL
+);
+
+INSERT INTO blog_posts_epoch (id, title, filename, published_at, created_at, updated_at)
+SELECT id,
+       title,
+       filename,
+       CASE WHEN published_at NOT GLOB '*[^0-9]*' THEN CAST(published_at AS INTEGER) ELSE unixepoch(published_at) / 86400 END,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM blog_posts;
+
+DROP TABLE blog_posts;
+ALTER TABLE blog_posts_epoch RENAME TO blog_posts;
+
+CREATE UNIQUE INDEX index_blog_posts_on_filename ON blog_posts(filename);
+CREATE INDEX index_blog_posts_on_published_at_and_id ON blog_posts(published_at, id);
+CREATE INDEX index_blog_posts_on_created_at ON blog_posts(created_at);
+
+CREATE TABLE presentations_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    title TEXT,
+    abstract TEXT,
+    slides_url TEXT,
+    github_url TEXT,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL
+);
+
+INSERT INTO presentations_epoch (id, title, abstract, slides_url, github_url, created_at, updated_at)
+SELECT id,
+       title,
+       abstract,
+       slides_url,
+       github_url,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM presentations;
+
+DROP TABLE presentations;
+ALTER TABLE presentations_epoch RENAME TO presentations;
+
+CREATE INDEX index_presentations_on_title_nocase ON presentations(title COLLATE NOCASE);
+
+CREATE TABLE conferences_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    title TEXT NOT NULL,
+    year INTEGER NOT NULL,
+    link TEXT,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL
+);
+
+INSERT INTO conferences_epoch (id, title, year, link, created_at, updated_at)
+SELECT id,
+       title,
+       year,
+       link,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM conferences;
+
+DROP TABLE conferences;
+ALTER TABLE conferences_epoch RENAME TO conferences;
+
+CREATE UNIQUE INDEX index_conferences_on_title_and_year ON conferences(title, year);
+CREATE INDEX index_conferences_on_title_nocase_and_year ON conferences(title COLLATE NOCASE, year);
+
+CREATE TABLE conference_presentations_epoch (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    conference_id INTEGER NOT NULL,
+    presentation_id INTEGER NOT NULL,
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER NOT NULL,
+    FOREIGN KEY (conference_id) REFERENCES conferences(id),
+    FOREIGN KEY (presentation_id) REFERENCES presentations(id)
+);
+
+INSERT INTO conference_presentations_epoch (id, conference_id, presentation_id, created_at, updated_at)
+SELECT id,
+       conference_id,
+       presentation_id,
+       CASE WHEN created_at NOT GLOB '*[^0-9]*' THEN CAST(created_at AS INTEGER) ELSE CAST(round(unixepoch(created_at, 'utc', 'subsec') * 1000) AS INTEGER) END,
+       CASE WHEN updated_at NOT GLOB '*[^0-9]*' THEN CAST(updated_at AS INTEGER) ELSE CAST(round(unixepoch(updated_at, 'utc', 'subsec') * 1000) AS INTEGER) END
+FROM conference_presentations;
+
+DROP TABLE conference_presentations;
+ALTER TABLE conference_presentations_epoch RENAME TO conference_presentations;
+
+CREATE INDEX index_conference_presentations_on_conference_id ON conference_presentations(conference_id);
+CREATE INDEX index_conference_presentations_on_presentation_id ON conference_presentations(presentation_id);
@@ -0,0 +1,2 @@
+-- Supports keyset pagination of the public blog index ordered by (published_at, id)
+CREATE INDEX IF NOT EXISTS index_blog_posts_on_published_at_and_id ON blog_posts(published_at, id);
@@ -0,0 +1,5 @@
+-- Let listing queries read rows in display order instead of sorting in a temp b-tree.
+-- The NOCASE collation must match the ORDER BY ... COLLATE NOCASE in the repository queries.
+CREATE INDEX IF NOT EXISTS index_presentations_on_title_nocase ON presentations(title COLLATE NOCASE);
+CREATE INDEX IF NOT EXISTS index_conferences_on_title_nocase_and_year ON conferences(title COLLATE NOCASE, year);
+CREATE INDEX IF NOT EXISTS index_blog_posts_on_created_at ON blog_posts(created_at);
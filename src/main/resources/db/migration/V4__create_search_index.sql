@@ -0,0 +1,10 @@
+-- Full-text index for /search over blog post titles and markdown bodies and presentation titles and abstracts.
+-- Maintained by SearchIndex rather than triggers, since blog post bodies live in markdown files.
+-- The rowid encodes the source row: id * 2 for blog posts, id * 2 + 1 for presentations.
+-- Prefix indexes keep the prefix match on the last search term fast.
+CREATE VIRTUAL TABLE IF NOT EXISTS search_index USING fts5(
+    title,
+    body,
+    prefix = '2 3',
+    tokenize = 'porter unicode61 remove_diacritics 2'
+);
@@ -0,0 +1,9 @@
+-- Top related posts per blog post by TF-IDF cosine similarity, in descending score order.
+-- Written by RelatedPostsIndex in the background and read back on startup.
+CREATE TABLE IF NOT EXISTS related_blog_posts (
+    blog_post_id INTEGER NOT NULL,
+    position INTEGER NOT NULL,
+    related_blog_post_id INTEGER NOT NULL,
+    score REAL NOT NULL,
+    PRIMARY KEY (blog_post_id, position)
+);
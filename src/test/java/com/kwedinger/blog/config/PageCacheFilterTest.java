@@ -0,0 +1,28 @@
+package com.kwedinger.blog.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCacheFilterTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "gzip, deflate, br", "br;q=1.0, gzip;q=0.8", "GZIP", "*", "deflate, *;q=0.5"})
+    void acceptsGzip(String acceptEncoding) {
+        assertTrue(PageCacheFilter.acceptsGzip(acceptEncoding));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "identity", "br, deflate", "gzip;q=0", "gzip; q=0.000", "*;q=0", "*, gzip;q=0", "gzip;q=oops"})
+    void refusesGzip(String acceptEncoding) {
+        assertFalse(PageCacheFilter.acceptsGzip(acceptEncoding));
+    }
+
+    @Test
+    void refusesGzipWithoutHeader() {
+        assertFalse(PageCacheFilter.acceptsGzip(null));
+    }
+}
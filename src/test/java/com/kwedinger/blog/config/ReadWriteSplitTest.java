@@ -0,0 +1,71 @@
+package com.kwedinger.blog.config;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "blog.datasource.read-write-split.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "blog.file-catalog.watch=false"})
+class ReadWriteSplitTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    // The split needs a file database; every :memory: connection would be a separate empty database
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        String url = "jdbc:sqlite:" + Files.createTempDirectory("read-write-split").resolve("test.sqlite3");
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Test
+    void readOnlyTransactionsUseQueryOnlyReaders() {
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        assertEquals(1, readTransaction.execute(status -> queryOnly()));
+    }
+
+    @Test
+    void writeTransactionsUseTheWriter() {
+        assertEquals(0, new TransactionTemplate(transactionManager).execute(status -> queryOnly()));
+    }
+
+    @Test
+    void saveGoesToTheWriter() {
+        BlogPost post = new BlogPost();
+        post.setTitle("Read/write split");
+        post.setFilename("read_write_split.md");
+        post.setPublishedAt(LocalDate.now());
+        // A query_only connection would reject the insert
+        BlogPost saved = blogPostRepository.save(post);
+        assertNotNull(saved.getId());
+        assertTrue(blogPostRepository.findById(saved.getId()).isPresent());
+    }
+
+    private int queryOnly() {
+        return jdbcTemplate.queryForObject("PRAGMA query_only", Integer.class);
+    }
+}
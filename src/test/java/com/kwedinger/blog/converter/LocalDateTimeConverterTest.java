@@ -0,0 +1,65 @@
+package com.kwedinger.blog.converter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalDateTimeConverterTest {
+    private final LocalDateTimeConverter converter = new LocalDateTimeConverter(new TimestampStorage(false));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "2024-05-01T14:30:15.123456",
+        "2024-05-01 14:30:15.123456",
+        "2024-05-01T14:30:15",
+        "2024-05-01T14:30:15.1",
+        "2024-05-01T14:30:15.123456789",
+        "2024-05-01T14:30",
+        "2024-02-29T00:00:00",
+        "1714573815123",
+        "0"
+    })
+    void matchesExceptionBasedParser(String stored) {
+        assertEquals(legacyParse(stored), converter.convertToEntityAttribute(stored));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "2023-02-29T00:00:00",
+        "2024-13-01T00:00:00",
+        "2024-05-01T24:00:00",
+        "2024-05-01X14:30:15",
+        "not a date"
+    })
+    void rejectsInvalidValues(String stored) {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void roundTripsIsoText() {
+        LocalDateTime value = LocalDateTime.of(2024, 5, 1, 14, 30, 15, 123_456_000);
+        assertEquals(value, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(value)));
+    }
+
+    // The converter as it was before format detection: ISO, then epoch millis, then the space-separated form
+    private static LocalDateTime legacyParse(String dbData) {
+        try {
+            return LocalDateTime.parse(dbData, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(dbData)), ZoneId.systemDefault());
+            } catch (NumberFormatException nfe) {
+                return LocalDateTime.parse(dbData.replace(' ', 'T'));
+            }
+        }
+    }
+}
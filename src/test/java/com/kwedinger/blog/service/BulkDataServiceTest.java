@@ -0,0 +1,95 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "blog.file-catalog.watch=false")
+@ActiveProfiles("epoch-timestamps")
+class BulkDataServiceTest {
+
+    @Autowired
+    private BulkDataService bulkDataService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    // Flyway has to run the epoch migration, so each context gets a fresh file database
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        String url = "jdbc:sqlite:" + Files.createTempDirectory("bulk-data").resolve("test.sqlite3");
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Test
+    void isoRowsFromAnOlderExportAreStoredAsEpochValues() throws IOException {
+        importRows("""
+            {"type":"blog_post","id":101,"title":"ISO export","filename":"iso_export.md","published_at":"2024-05-01","created_at":"2024-05-01T14:30:15.123456","updated_at":"2024-05-01 14:30:15"}
+            """);
+
+        Map<String, Object> row = storedRow(101);
+        assertEquals("integer", row.get("published_type"));
+        assertEquals("integer", row.get("created_type"));
+        assertEquals("integer", row.get("updated_type"));
+        assertEquals(LocalDate.of(2024, 5, 1).toEpochDay(), ((Number) row.get("published_at")).longValue());
+        assertEquals(epochMillis(LocalDateTime.of(2024, 5, 1, 14, 30, 15, 123_000_000)),
+            ((Number) row.get("created_at")).longValue());
+        assertPublished("iso_export.md");
+    }
+
+    @Test
+    void epochRowsAreStoredAsEpochValues() throws IOException {
+        long publishedAt = LocalDate.of(2023, 1, 15).toEpochDay();
+        long createdAt = epochMillis(LocalDateTime.of(2023, 1, 15, 9, 0));
+        importRows("""
+            {"type":"blog_post","id":102,"title":"Epoch export","filename":"epoch_export.md","published_at":%d,"created_at":%d,"updated_at":"%d"}
+            """.formatted(publishedAt, createdAt, createdAt));
+
+        Map<String, Object> row = storedRow(102);
+        assertEquals("integer", row.get("published_type"));
+        assertEquals("integer", row.get("updated_type"));
+        assertEquals(publishedAt, ((Number) row.get("published_at")).longValue());
+        assertEquals(createdAt, ((Number) row.get("updated_at")).longValue());
+        assertPublished("epoch_export.md");
+    }
+
+    private void importRows(String ndjson) throws IOException {
+        bulkDataService.importFrom(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, Object> storedRow(long id) {
+        return jdbcTemplate.queryForMap("SELECT published_at, created_at, updated_at, typeof(published_at) AS published_type, "
+            + "typeof(created_at) AS created_type, typeof(updated_at) AS updated_type FROM blog_posts WHERE id = ?", id);
+    }
+
+    // TEXT sorts above every INTEGER in SQLite, so a row stored as text would be missing here
+    private void assertPublished(String filename) {
+        List<BlogPost> published = blogPostRepository.findByPublishedAtIsNotNullAndPublishedAtLessThanEqualOrderByPublishedAtDesc(LocalDate.now());
+        assertEquals(1, published.stream().filter(post -> post.getFilename().equals(filename)).count());
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,106 @@
+package com.kwedinger.blog.service;
+
+import com.kwedinger.blog.model.BlogPost;
+import com.kwedinger.blog.model.BlogPostSummary;
+import com.kwedinger.blog.repository.BlogPostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelatedPostsIndexTest {
+    private static final int SIZE = 2;
+
+    private final Map<Long, BlogPost> posts = new LinkedHashMap<>();
+    private final Map<String, String> contents = new LinkedHashMap<>();
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() throws InterruptedException {
+        post(1, "Virtual threads in Java", "Virtual threads park instead of blocking a carrier thread, so a blocking "
+            + "call in Java no longer ties up an operating system thread.");
+        post(2, "Pinning virtual threads", "A virtual thread that blocks inside a synchronized block pins its carrier "
+            + "thread. The monitor is held, so Java cannot unmount it.");
+        post(3, "Structured concurrency", "Structured concurrency scopes run subtasks in virtual threads and join them. "
+            + "Java cancels the remaining subtasks when one fails.");
+        post(4, "SQLite write-ahead log", "In WAL mode SQLite readers keep reading while the writer appends to the log. "
+            + "A checkpoint copies the log back into the database.");
+        post(5, "SQLite busy timeout", "When the writer holds the lock, SQLite waits up to the busy timeout before "
+            + "failing. A connection pool with one writer avoids the wait.");
+        post(6, "Connection pools for SQLite", "A connection pool keeps readers and the writer apart. Readers share the "
+            + "pool while one writer connection serializes every write to the database from any thread.");
+        post(7, "Sourdough starter", "Feed the starter flour and water every day until it doubles. A lively starter "
+            + "makes the bread rise without commercial yeast.");
+        post(8, "Baking sourdough bread", "Bake the bread in a hot oven with steam. Sourdough needs a long proof, and "
+            + "a hot oven gives the bread its crust.");
+        RelatedPostsIndex index = index();
+        index.rebuild();
+        index.awaitPending();
+        assertEquals(List.of(2L, 3L), ids(index.relatedTo(1L)));
+
+        // An edit that keeps the post in its neighbours' lists; each step is awaited since the worker reads the posts map
+        post(2, "Pinning virtual threads", "Blocking inside a synchronized block pins the virtual thread to its carrier "
+            + "thread, because Java cannot unmount a thread holding a monitor.");
+        index.update(posts.get(2L));
+        index.awaitPending();
+        // A delete, so the lists that held it are refilled
+        posts.remove(5L);
+        index.remove(5L);
+        index.awaitPending();
+        // An edit that drops the post below the cut-off of the lists it was in, so they take a post from outside
+        post(3, "Growing tomatoes", "Plant tomatoes in warm soil after the last frost, water them deeply, and pinch "
+            + "out the side shoots.");
+        index.update(posts.get(3L));
+        index.awaitPending();
+
+        RelatedPostsIndex rebuilt = index();
+        rebuilt.rebuild();
+        rebuilt.awaitPending();
+        for (Long id : posts.keySet()) {
+            assertEquals(ids(rebuilt.relatedTo(id)), ids(index.relatedTo(id)), "related posts of " + id);
+        }
+        assertEquals(List.of(2L, 6L), ids(index.relatedTo(1L)));
+        assertTrue(index.relatedTo(5L).isEmpty());
+        index.shutdown();
+        rebuilt.shutdown();
+    }
+
+    private void post(long id, String title, String content) {
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setTitle(title);
+        post.setFilename("post_" + id + ".md");
+        post.setPublishedAt(LocalDate.now().minusDays(id));
+        posts.put(id, post);
+        contents.put(post.getFilename(), content);
+    }
+
+    private RelatedPostsIndex index() {
+        BlogPostRepository blogPostRepository = mock(BlogPostRepository.class);
+        when(blogPostRepository.findPublishedRecent(any())).thenAnswer(invocation -> new ArrayList<>(posts.values()));
+        when(blogPostRepository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(posts.get(invocation.<Long>getArgument(0))));
+        BlogPostFileReader blogPostFileReader = mock(BlogPostFileReader.class);
+        when(blogPostFileReader.readContent(anyString()))
+            .thenAnswer(invocation -> contents.get(invocation.<String>getArgument(0)));
+        return new RelatedPostsIndex(blogPostRepository, blogPostFileReader, mock(JdbcTemplate.class),
+            mock(PlatformTransactionManager.class), mock(PageCache.class), SIZE, false);
+    }
+
+    private static List<Long> ids(List<BlogPostSummary> summaries) {
+        return summaries.stream().map(BlogPostSummary::id).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.kwedinger.blog.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+
+    @Test
+    void quotesEachWordAndPrefixesTheLast() {
+        assertEquals("\"virtual\" \"threads\"*", SearchIndex.toMatchExpression("virtual threads"));
+        assertEquals("\"java\"*", SearchIndex.toMatchExpression("  java  "));
+    }
+
+    @Test
+    void onlyTheLastWordIsAPrefix() {
+        assertEquals("\"spring\" \"boot\" \"sqli\"*", SearchIndex.toMatchExpression("spring boot sqli"));
+    }
+
+    @Test
+    void userQuotesCannotEscapeTheirPhrase() {
+        assertEquals("\"say\" \"hello\" \"world\"*", SearchIndex.toMatchExpression("say \"hello\" world\""));
+    }
+
+    @Test
+    void fts5OperatorsAreMatchedLiterally() {
+        assertEquals("\"java\" \"AND\" \"sqlite\" \"OR\" \"NOT\" \"rails\"*",
+            SearchIndex.toMatchExpression("java AND sqlite OR NOT rails"));
+        assertEquals("\"NEAR\" \"one\" \"two\" \"5\"*", SearchIndex.toMatchExpression("NEAR(one two, 5)"));
+        assertEquals("\"title\" \"java\" \"body\" \"loom\"*", SearchIndex.toMatchExpression("title:java {body}:loom^"));
+        assertEquals("\"c\" \"threads\"*", SearchIndex.toMatchExpression("c++ -threads*"));
+    }
+
+    @Test
+    void emptyAndPunctuationOnlyQueriesMatchNothing() {
+        assertEquals("", SearchIndex.toMatchExpression(null));
+        assertEquals("", SearchIndex.toMatchExpression(""));
+        assertEquals("", SearchIndex.toMatchExpression("   "));
+        assertEquals("", SearchIndex.toMatchExpression("\"*:()^-+,.?!"));
+    }
+
+    @Test
+    void keepsLettersFromAnyScript() {
+        assertEquals("\"café\" \"größe\"*", SearchIndex.toMatchExpression("café größe"));
+    }
+
+    @Test
+    void usesAtMostTenWords() {
+        assertEquals("\"1\" \"2\" \"3\" \"4\" \"5\" \"6\" \"7\" \"8\" \"9\" \"10\"*",
+            SearchIndex.toMatchExpression("1 2 3 4 5 6 7 8 9 10 11 12"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.kwedinger.blog.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class MarkdownExcerptExtractorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "Hello world",
+        "# Title\n\nSome **bold** and *italic* text",
+        "Use `code` here\n```java\nint x;\n```\nafter the block",
+        "See [the docs](https://example.com) for details",
+        "a **b** *c* [d](e) `f` g h i j k l m n o p",
+        "  leading and trailing whitespace  ",
+        "![](image.png) text after an image",
+        "unclosed ``` fence with `inline` code",
+        "**not closed bold",
+        "[a [b](c) d"
+    })
+    void matchesRegexImplementation(String markdown) {
+        for (int words : new int[] {1, 3, 50}) {
+            assertEquals(legacyExcerpt(markdown, words), MarkdownExcerptExtractor.extract(markdown, words));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "2016-8-9-HowDoIChooseAPresentationTopic.md",
+        "rebuilding_my_blog_with_cursor.md"
+    })
+    void matchesRegexImplementationOnBlogPosts(String filename) throws IOException {
+        String markdown = readBlogPost(filename);
+        assertEquals(legacyExcerpt(markdown, 50), MarkdownExcerptExtractor.extract(markdown, 50));
+    }
+
+    @Test
+    void stripsHeadersAfterTheFirstLine() {
+        // The regex version only stripped a header at the very start of the document
+        assertEquals("Intro text Next section body",
+            MarkdownExcerptExtractor.extract("# Intro\ntext\n\n## Next section\nbody", 50));
+    }
+
+    @Test
+    void appendsEllipsisOnlyWhenTruncated() {
+        assertEquals("one two...", MarkdownExcerptExtractor.extract("one two three", 2));
+        assertEquals("one two three", MarkdownExcerptExtractor.extract("one two three", 3));
+    }
+
+    @Test
+    void returnsEmptyForBlankContent() {
+        assertEquals("", MarkdownExcerptExtractor.extract(null, 50));
+        assertEquals("", MarkdownExcerptExtractor.extract("   \n", 50));
+    }
+
+    @Test
+    void stopsAtRequestedWordsForLargeDocuments() {
+        String markdown = "word ".repeat(1_000_000);
+        String excerpt = MarkdownExcerptExtractor.extract(markdown, 5);
+        assertEquals("word word word word word...", excerpt);
+        assertFalse(excerpt.length() > 64);
+    }
+
+    private static String readBlogPost(String filename) throws IOException {
+        try (InputStream in = MarkdownExcerptExtractorTest.class.getResourceAsStream("/static/blog_posts/" + filename)) {
+            assertNotNull(in, "Missing blog post " + filename);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The regex-based excerpt logic previously used by BlogPostFileReader, kept as the reference behavior.
+     */
+    private static String legacyExcerpt(String content, int words) {
+        if (content == null || content.isBlank()) {
+            return "";
+        }
+        String text = content
+            .replaceAll("^#+\\s+", "")
+            .replaceAll("```[\\s\\S]*?```", "")
+            .replaceAll("`[^`]+`", "")
+            .replaceAll("\\*\\*([^*]+)\\*\\*", "$1")
+            .replaceAll("\\*([^*]+)\\*", "$1")
+            .replaceAll("\\[([^\\]]+)\\]\\([^\\)]+\\)", "$1")
+            .replaceAll("!\\[[^\\]]*\\]\\([^\\)]+\\)", "")
+            .strip();
+        String[] wordArray = text.split("\\s+");
+        String excerpt = String.join(" ", Arrays.stream(wordArray).limit(words).toArray(String[]::new));
+        return wordArray.length > words ? excerpt + "..." : excerpt;
+    }
+}
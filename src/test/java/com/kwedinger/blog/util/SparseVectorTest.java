@@ -0,0 +1,55 @@
+package com.kwedinger.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SparseVectorTest {
+
+    @Test
+    void countsSurviveResizing() {
+        IntIntHashMap counts = new IntIntHashMap(2);
+        for (int key = 999; key >= 0; key--) {
+            counts.addTo(key, key);
+            counts.addTo(key, 1);
+        }
+        assertEquals(1000, counts.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key + 1, counts.get(key));
+        }
+        assertEquals(0, counts.get(1000));
+        assertArrayEquals(new int[] {0, 1, 2}, Arrays.copyOf(counts.sortedKeys(), 3));
+    }
+
+    @Test
+    void dotProductIsCosineSimilarity() {
+        SparseVector a = vector(new int[] {1, 5, 9}, new int[] {1, 2, 2});
+        SparseVector b = vector(new int[] {5, 9, 12}, new int[] {2, 2, 1});
+        SparseVector c = vector(new int[] {2, 3}, new int[] {4, 4});
+
+        assertEquals(1.0, a.dot(a), 1e-6);
+        assertEquals(8.0 / 9.0, a.dot(b), 1e-6);
+        assertEquals(a.dot(b), b.dot(a), 1e-9);
+        assertEquals(0.0, a.dot(c));
+        assertEquals(0.0, a.dot(SparseVector.EMPTY));
+    }
+
+    @Test
+    void allZeroWeightsGiveEmptyVector() {
+        IntIntHashMap counts = new IntIntHashMap();
+        counts.addTo(3, 1);
+        assertSame(SparseVector.EMPTY, SparseVector.normalized(counts, (index, count) -> 0));
+    }
+
+    private static SparseVector vector(int[] indices, int[] counts) {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int i = 0; i < indices.length; i++) {
+            map.addTo(indices[i], counts[i]);
+        }
+        return SparseVector.normalized(map, (index, count) -> count);
+    }
+}